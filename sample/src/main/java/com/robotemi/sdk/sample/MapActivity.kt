@@ -312,8 +312,9 @@ class MapActivity : AppCompatActivity() {
             val mapImage = mapDataModel!!.mapImage
             Log.i("Map-mapImage", mapDataModel!!.mapImage.typeId)
 
+            val grid = mapImage.grid
             bitmap = Bitmap.createBitmap(
-                mapImage.data.map { Color.argb((it * 2.55).roundToInt(), 0, 0, 0) }.toIntArray(),
+                IntArray(grid.size) { Color.argb((grid.getInt(it) * 2.55).roundToInt(), 0, 0, 0) },
                 mapImage.cols,
                 mapImage.rows,
                 Bitmap.Config.ARGB_8888
@@ -0,0 +1,198 @@
+package com.robotemi.sdk.testing
+
+import android.content.Context
+import android.content.pm.ApplicationInfo
+import android.os.Handler
+import android.os.IBinder
+import android.os.IInterface
+import android.os.Looper
+import com.robotemi.sdk.ISdkService
+import com.robotemi.sdk.ISdkServiceCallback
+import com.robotemi.sdk.Robot
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * In-memory temi service, to test apps and benchmark the SDK without a robot.
+ *
+ * Every [ISdkService] method answers a default value (false, 0, empty string or list, null)
+ * unless scripted with [answer] or [returns], and can be slowed down with [setLatency].
+ * The callback registered by [Robot] is available as [callback] to simulate events from temi.
+ *
+ * ```
+ * val fake = FakeSdkService()
+ * fake.returns("getBatteryData", BatteryData(80, false, false, 0))
+ * val robot = fake.connectNewRobot(context)
+ * fake.callback.onCurrentPositionChanged(Position(1f, 2f, 0f, 0))
+ * ```
+ */
+class FakeSdkService {
+
+    private val answers = ConcurrentHashMap<String, (Array<Any?>) -> Any?>()
+
+    private val latencies = ConcurrentHashMap<String, Long>()
+
+    private val callCounts = ConcurrentHashMap<String, AtomicInteger>()
+
+    /**
+     * Latency in milliseconds of methods without one of their own.
+     */
+    @Volatile
+    var defaultLatencyMs = 0L
+
+    @Volatile
+    private var registeredCallback: ISdkServiceCallback? = null
+
+    @Volatile
+    var applicationInfo: ApplicationInfo? = null
+        private set
+
+    val service: ISdkService = Proxy.newProxyInstance(
+        ISdkService::class.java.classLoader,
+        arrayOf(ISdkService::class.java),
+        InvocationHandler { _, method, args -> invoke(method, args ?: emptyArray()) }
+    ) as ISdkService
+
+    /**
+     * The callback registered by [Robot], to call its methods as temi would.
+     * Calls are transactions on the callback's binder, so arguments are parcelled as from temi.
+     *
+     * @throws IllegalStateException if not connected yet.
+     */
+    val callback: ISdkServiceCallback
+        get() = registeredCallback ?: throw IllegalStateException("Robot is not connected")
+
+    /**
+     * Answer calls to [method], an [ISdkService] method name, with the result of [answer]
+     * called with the arguments of the call.
+     *
+     * @throws IllegalArgumentException if [ISdkService] has no such method.
+     */
+    fun answer(method: String, answer: (Array<Any?>) -> Any?) {
+        returnType(method)
+        answers[method] = answer
+    }
+
+    /**
+     * Answer calls to [method] with [value].
+     *
+     * @throws IllegalArgumentException if [ISdkService] has no such method,
+     * or if [value] is not of its return type.
+     */
+    fun returns(method: String, value: Any?) {
+        val type = returnType(method)
+        val nullable = !type.isPrimitive || type == Void.TYPE
+        require(if (value == null) nullable else boxed(type).isInstance(value)) {
+            "$method returns ${type.name}, not $value"
+        }
+        answers[method] = { value }
+    }
+
+    fun setLatency(method: String, latencyMs: Long) {
+        returnType(method)
+        latencies[method] = latencyMs
+    }
+
+    fun callCount(method: String): Int = callCounts[method]?.get() ?: 0
+
+    fun resetCallCounts() {
+        callCounts.clear()
+    }
+
+    /**
+     * Connect [robot] to this service, as the SDK does when binding temi's service,
+     * and wait until done on the main thread.
+     */
+    fun connect(robot: Robot) {
+        runOnMainThread { robot.setSdkService(service) }
+    }
+
+    /**
+     * A new [Robot], apart from [Robot.getInstance], connected to this service.
+     */
+    fun connectNewRobot(context: Context): Robot {
+        return Robot.newInstanceForTesting(context).also { connect(it) }
+    }
+
+    fun disconnect(robot: Robot) {
+        runOnMainThread { robot.setSdkService(null) }
+        registeredCallback = null
+    }
+
+    private fun invoke(method: Method, args: Array<Any?>): Any? {
+        when (method.name) {
+            "register" -> {
+                applicationInfo = args[0] as ApplicationInfo?
+                registeredCallback = (args[1] as ISdkServiceCallback?)?.let {
+                    ISdkServiceCallback.Stub.asInterface(RemoteBinder(it.asBinder()))
+                }
+            }
+            "asBinder" -> return null
+            "toString" -> return "FakeSdkService"
+            "hashCode" -> return System.identityHashCode(this)
+            "equals" -> return service === args[0]
+        }
+        callCounts.getOrPut(method.name) { AtomicInteger() }.incrementAndGet()
+        val latencyMs = latencies[method.name] ?: defaultLatencyMs
+        if (latencyMs > 0) Thread.sleep(latencyMs)
+        val answer = answers[method.name] ?: return defaultValue(method.returnType)
+        return answer(args)
+    }
+
+    private fun returnType(method: String): Class<*> {
+        return ISdkService::class.java.methods.firstOrNull { it.name == method }?.returnType
+            ?: throw IllegalArgumentException("ISdkService has no method $method")
+    }
+
+    private fun boxed(type: Class<*>): Class<*> {
+        return when (type) {
+            java.lang.Boolean.TYPE -> java.lang.Boolean::class.java
+            Integer.TYPE -> Integer::class.java
+            java.lang.Long.TYPE -> java.lang.Long::class.java
+            java.lang.Float.TYPE -> java.lang.Float::class.java
+            java.lang.Double.TYPE -> java.lang.Double::class.java
+            else -> type
+        }
+    }
+
+    private fun defaultValue(type: Class<*>): Any? {
+        return when (type) {
+            java.lang.Boolean.TYPE -> false
+            Integer.TYPE -> 0
+            java.lang.Long.TYPE -> 0L
+            java.lang.Float.TYPE -> 0f
+            java.lang.Double.TYPE -> 0.0
+            String::class.java -> ""
+            List::class.java -> emptyList<Any>()
+            else -> null
+        }
+    }
+
+    /**
+     * [binder] seen as in another process, so that calls to it are transactions.
+     */
+    private class RemoteBinder(private val binder: IBinder) : IBinder by binder {
+        override fun queryLocalInterface(descriptor: String): IInterface? = null
+    }
+
+    private fun runOnMainThread(action: () -> Unit) {
+        val looper = Looper.getMainLooper()
+        if (looper.thread === Thread.currentThread()) {
+            action()
+            return
+        }
+        val done = CountDownLatch(1)
+        Handler(looper).post {
+            try {
+                action()
+            } finally {
+                done.countDown()
+            }
+        }
+        done.await()
+    }
+}
@@ -0,0 +1,70 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.BatteryData
+import com.robotemi.sdk.listeners.OnBatteryStatusChangedListener
+import com.robotemi.sdk.navigation.listener.OnDistanceToLocationChangedListener
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import java.io.DataOutputStream
+import java.io.FileOutputStream
+import java.util.concurrent.Executor
+
+@RunWith(RobolectricTestRunner::class)
+internal class CallbackRecordingTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val directExecutor = Executor { it.run() }
+
+    @Test
+    fun replayOnAnotherRobot() {
+        val file = folder.newFile("callbacks")
+        val recording = FakeSdkService()
+        val recorded = recording.connectNewRobot(RuntimeEnvironment.getApplication())
+        recorded.startCallbackRecording(file)
+        recording.callback.onBatteryStatusChanged(BatteryData(80, true, false, 0))
+        recording.callback.onDistanceToLocationChanged(mapOf("kitchen" to 1.5f))
+        recorded.stopCallbackRecording()
+
+        val robot = FakeSdkService().connectNewRobot(RuntimeEnvironment.getApplication())
+        val batteries = ArrayList<BatteryData>()
+        val locations = ArrayList<Map<String, Float>>()
+        robot.addOnBatteryStatusChangedListener(object : OnBatteryStatusChangedListener {
+            override fun onBatteryStatusChanged(batteryData: BatteryData?) {
+                batteries.add(batteryData!!)
+            }
+        }, directExecutor)
+        robot.addOnDistanceToLocationChangedListener(object : OnDistanceToLocationChangedListener {
+            override fun onDistanceToLocationChanged(distances: Map<String, Float>) {
+                locations.add(distances)
+            }
+        }, directExecutor)
+        val replayer = robot.replayCallbacks(file, 0f)
+        replayer.join()
+
+        assert(replayer.replayedCount == 2L)
+        assert(batteries.single().level == 80)
+        assert(locations.single()["kitchen"] == 1.5f)
+    }
+
+    @Test
+    fun corruptRecordEndsReplay() {
+        val file = folder.newFile("corrupt")
+        DataOutputStream(FileOutputStream(file)).use {
+            it.writeInt(0x54534452)
+            it.writeInt(3)
+            it.writeLong(0)
+            it.writeUTF("onBatteryStatusChanged")
+            it.writeInt(Int.MAX_VALUE)
+        }
+        val robot = FakeSdkService().connectNewRobot(RuntimeEnvironment.getApplication())
+        val replayer = robot.replayCallbacks(file, 0f)
+        replayer.join()
+        assert(replayer.replayedCount == 0L)
+    }
+}
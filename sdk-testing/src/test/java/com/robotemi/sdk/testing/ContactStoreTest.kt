@@ -0,0 +1,89 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.UserInfo
+import com.robotemi.sdk.model.MemberStatusModel
+import com.robotemi.sdk.telepresence.CallState
+import com.robotemi.sdk.telepresence.ContactStore
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+internal class ContactStoreTest {
+
+    private val fake = FakeSdkService()
+
+    private lateinit var provider: FakeContactsProvider
+
+    private lateinit var robot: Robot
+
+    private val removedIds = ArrayList<String>()
+
+    private var updatedCount = 0
+
+    @Before
+    fun setUp() {
+        provider = FakeContactsProvider.register(150)
+        robot = fake.connectNewRobot(RuntimeEnvironment.getApplication())
+        robot.contactStore.addListener(object : ContactStore.Listener {
+            override fun onContactsChanged(updated: List<UserInfo>, removedIds: List<String>) {
+                updatedCount += updated.size
+                this@ContactStoreTest.removedIds.addAll(removedIds)
+            }
+
+            override fun onMembersStatusChanged(updated: List<MemberStatusModel>) = Unit
+        }, { it.run() })
+    }
+
+    @Test
+    fun syncReadsAllPages() {
+        robot.contactStore.sync()
+        assert(robot.contactStore.contactCount == 150)
+        assert(robot.contactStore.getContact("id149")?.name == "User 149")
+        assert(updatedCount == 150)
+    }
+
+    @Test
+    fun failedPageLeavesStoreUnchanged() {
+        robot.contactStore.sync()
+        updatedCount = 0
+
+        provider.failingOffset = 100
+        robot.contactStore.sync()
+        assert(robot.contactStore.contactCount == 150)
+        assert(robot.contactStore.getContact("id149") != null)
+        assert(updatedCount == 0)
+        assert(removedIds.isEmpty())
+    }
+
+    @Test
+    fun startSyncsOnceThenFollowsChanges() {
+        fake.returns("getMembersStatus", listOf(MemberStatusModel("id1", MemberStatusModel.STATUS_ONLINE)))
+        val store = robot.contactStore
+        store.start()
+        awaitUntil { store.contactCount == 150 && store.getMemberStatus("id1") != null }
+        val queries = provider.queryCount.get()
+
+        fake.callback.onUserUpdated(UserInfo("id150", "User 150", "", 0))
+        assert(store.getContact("id150")?.name == "User 150")
+
+        fake.returns("getMembersStatus", listOf(MemberStatusModel("id1", MemberStatusModel.STATUS_BUSY)))
+        fake.callback.onTelepresenceStatusChanged(CallState("session", CallState.State.STARTED))
+        awaitUntil { store.getMemberStatus("id1")?.mobileStatus == MemberStatusModel.STATUS_BUSY }
+
+        // Changes came one by one, without reading the contacts again.
+        assert(provider.queryCount.get() == queries)
+        assert(store.contactCount == 151)
+        store.stop()
+    }
+
+    private fun awaitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (!condition() && System.nanoTime() < deadline) Thread.sleep(5)
+        assert(condition())
+    }
+}
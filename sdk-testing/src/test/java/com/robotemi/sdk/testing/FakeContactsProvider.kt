@@ -0,0 +1,100 @@
+package com.robotemi.sdk.testing
+
+import android.content.ContentProvider
+import android.content.ContentValues
+import android.content.pm.ProviderInfo
+import android.database.Cursor
+import android.database.MatrixCursor
+import android.net.Uri
+import android.os.Bundle
+import android.os.Parcel
+import com.robotemi.sdk.UserInfo
+import com.robotemi.sdk.constants.SdkConstants
+import org.robolectric.Robolectric
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * temi's provider of contacts, answering at most [maxLimit] items a page
+ * and failing the pages from [failingOffset].
+ */
+internal class FakeContactsProvider : ContentProvider() {
+
+    var contacts: List<UserInfo> = emptyList()
+
+    var maxLimit = Int.MAX_VALUE
+
+    var failingOffset = Int.MAX_VALUE
+
+    /**
+     * Number of pages asked for.
+     */
+    val queryCount = AtomicInteger()
+
+    /**
+     * Whether pages tell the size of the whole list.
+     */
+    var reportsTotalCount = false
+
+    override fun onCreate() = true
+
+    override fun query(
+        uri: Uri,
+        projection: Array<out String>?,
+        selection: String?,
+        selectionArgs: Array<out String>?,
+        sortOrder: String?
+    ): Cursor? {
+        queryCount.incrementAndGet()
+        val offset = uri.getQueryParameter(SdkConstants.PROVIDER_PARAMETER_OFFSET)!!.toInt()
+        val limit = uri.getQueryParameter(SdkConstants.PROVIDER_PARAMETER_LIMIT)!!.toInt()
+        if (offset >= failingOffset) return null
+        val cursor = MatrixCursor(arrayOf(SdkConstants.PROVIDER_COLUMN_ITEM))
+        for (user in contacts.drop(offset).take(minOf(limit, maxLimit))) {
+            cursor.addRow(arrayOf<Any>(marshall(user)))
+        }
+        if (reportsTotalCount) {
+            cursor.extras = Bundle().apply {
+                putInt(SdkConstants.PROVIDER_EXTRA_TOTAL_COUNT, contacts.size)
+            }
+        }
+        return cursor
+    }
+
+    private fun marshall(user: UserInfo): ByteArray {
+        val parcel = Parcel.obtain()
+        try {
+            user.writeToParcel(parcel, 0)
+            return parcel.marshall()
+        } finally {
+            parcel.recycle()
+        }
+    }
+
+    override fun getType(uri: Uri): String? = null
+
+    override fun insert(uri: Uri, values: ContentValues?): Uri? =
+        throw UnsupportedOperationException()
+
+    override fun delete(uri: Uri, selection: String?, selectionArgs: Array<out String>?): Int =
+        throw UnsupportedOperationException()
+
+    override fun update(
+        uri: Uri,
+        values: ContentValues?,
+        selection: String?,
+        selectionArgs: Array<out String>?
+    ): Int = throw UnsupportedOperationException()
+
+    companion object {
+
+        /**
+         * Register a provider of [count] contacts under temi's authority.
+         */
+        fun register(count: Int): FakeContactsProvider {
+            return Robolectric.buildContentProvider(FakeContactsProvider::class.java)
+                .create(ProviderInfo().apply { authority = SdkConstants.PROVIDER_AUTHORITY })
+                .get()
+                .apply { contacts = (0 until count).map { UserInfo("id$it", "User $it", "", 0) } }
+        }
+    }
+}
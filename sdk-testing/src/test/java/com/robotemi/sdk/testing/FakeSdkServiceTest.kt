@@ -0,0 +1,102 @@
+package com.robotemi.sdk.testing
+
+import android.os.Looper
+import com.robotemi.sdk.BatteryData
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.listeners.OnBatteryStatusChangedListener
+import com.robotemi.sdk.navigation.listener.OnCurrentPositionChangedListener
+import com.robotemi.sdk.navigation.model.Position
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import kotlin.concurrent.thread
+
+@RunWith(RobolectricTestRunner::class)
+internal class FakeSdkServiceTest {
+
+    private val fake = FakeSdkService()
+
+    private lateinit var robot: Robot
+
+    @Before
+    fun setUp() {
+        robot = fake.connectNewRobot(RuntimeEnvironment.getApplication())
+    }
+
+    @Test
+    fun callbackReachesListener() {
+        val received = ArrayList<BatteryData>()
+        robot.addOnBatteryStatusChangedListener(object : OnBatteryStatusChangedListener {
+            override fun onBatteryStatusChanged(batteryData: BatteryData?) {
+                received.add(batteryData!!)
+            }
+        })
+        fake.callback.onBatteryStatusChanged(BatteryData(80, true, false, 0))
+        shadowOf(Looper.getMainLooper()).idle()
+        assert(received.size == 1)
+        assert(received[0].level == 80)
+        assert(received[0].isCharging)
+    }
+
+    @Test
+    fun stateCacheHitAndInvalidate() {
+        fake.returns("getBatteryData", BatteryData(50, false, false, 0))
+        robot.setStateCacheMaxAge(60_000)
+        assert(robot.batteryData?.level == 50)
+        assert(robot.batteryData?.level == 50)
+        assert(fake.callCount("getBatteryData") == 1)
+
+        // Pushed by temi, answered without asking again.
+        fake.callback.onBatteryStatusChanged(BatteryData(70, true, false, 0))
+        assert(robot.batteryData?.level == 70)
+        assert(fake.callCount("getBatteryData") == 1)
+
+        robot.invalidateStateCache()
+        assert(robot.batteryData?.level == 50)
+        assert(fake.callCount("getBatteryData") == 2)
+    }
+
+    @Test
+    fun concurrentQueriesShareOneCall() {
+        fake.returns("getLocations", listOf("home base", "kitchen"))
+        fake.setLatency("getLocations", 300)
+        val start = CountDownLatch(1)
+        val results = arrayOfNulls<List<String>>(4)
+        val threads = results.indices.map { i ->
+            thread {
+                start.await()
+                results[i] = robot.locations
+            }
+        }
+        start.countDown()
+        threads.forEach { it.join() }
+        assert(fake.callCount("getLocations") == 1)
+        assert(results.all { it == listOf("home base", "kitchen") })
+    }
+
+    @Test
+    fun filteredPositionListenerStartsFromFirstEvent() {
+        val received = ArrayList<Position>()
+        robot.addOnCurrentPositionChangedListener(object : OnCurrentPositionChangedListener {
+            override fun onCurrentPositionChanged(position: Position) {
+                received.add(position)
+            }
+        }, 0, 1f, 0f, Executor { it.run() })
+        assert(fake.callCount("getPosition") == 0)
+
+        fake.callback.onCurrentPositionChanged(Position(0f, 0f, 0f, 0))
+        fake.callback.onCurrentPositionChanged(Position(0.5f, 0f, 0f, 0))
+        fake.callback.onCurrentPositionChanged(Position(1.5f, 0f, 0f, 0))
+        assert(received.map { it.x } == listOf(0f, 1.5f))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun returnsRejectsWrongType() {
+        fake.returns("getBatteryData", "80%")
+    }
+}
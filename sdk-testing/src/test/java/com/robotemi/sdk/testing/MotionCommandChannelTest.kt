@@ -0,0 +1,87 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.navigation.MotionCommandChannel
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+internal class MotionCommandChannelTest {
+
+    private val fake = FakeSdkService()
+
+    private lateinit var robot: Robot
+
+    private val sent = Collections.synchronizedList(ArrayList<String>())
+
+    /**
+     * Holds the first command until counted down, so the next ones wait in the queue.
+     */
+    private val release = CountDownLatch(1)
+
+    @Before
+    fun setUp() {
+        robot = fake.connectNewRobot(RuntimeEnvironment.getApplication())
+        fake.answer("turnBy") {
+            release.await()
+            sent.add("turnBy ${it[0]}")
+        }
+        fake.answer("tiltBy") { sent.add("tiltBy ${it[0]}") }
+        fake.answer("skidJoy") { sent.add("skidJoy ${it[0]}") }
+    }
+
+    @Test
+    fun onlySupersededSkidJoysAreDropped() {
+        val motion = robot.motion
+        motion.turnBy(90)
+        awaitPending(motion, 0)
+        for (i in 1..10) motion.skidJoy(i / 10f, 0f)
+        motion.tiltBy(5)
+        for (i in 1..5) motion.skidJoy(-i / 10f, 0f)
+        assert(motion.pending == 3)
+        assert(motion.dropped == 13L)
+
+        release.countDown()
+        awaitPending(motion, 0)
+        awaitSent(4)
+        assert(sent == listOf("turnBy 90", "skidJoy 1.0", "tiltBy 5", "skidJoy -0.5"))
+    }
+
+    @Test
+    fun fullQueueRejectsCommands() {
+        val motion = robot.motion
+        motion.turnBy(1)
+        awaitPending(motion, 0)
+        repeat(MotionCommandChannel.MAX_QUEUED) { motion.tiltBy(it) }
+        val rejected = try {
+            motion.tiltBy(-1)
+            false
+        } catch (e: RejectedExecutionException) {
+            true
+        }
+        assert(rejected)
+        assert(motion.dropped == 0L)
+        release.countDown()
+        awaitSent(MotionCommandChannel.MAX_QUEUED + 1)
+        assert(sent.last() == "tiltBy ${MotionCommandChannel.MAX_QUEUED - 1}")
+    }
+
+    private fun awaitPending(motion: MotionCommandChannel, count: Int) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (motion.pending != count && System.nanoTime() < deadline) Thread.sleep(5)
+        assert(motion.pending == count)
+    }
+
+    private fun awaitSent(count: Int) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5)
+        while (sent.size < count && System.nanoTime() < deadline) Thread.sleep(5)
+        assert(sent.size == count)
+    }
+}
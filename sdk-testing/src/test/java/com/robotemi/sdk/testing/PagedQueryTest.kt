@@ -0,0 +1,44 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.Robot
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+@RunWith(RobolectricTestRunner::class)
+internal class PagedQueryTest {
+
+    private lateinit var provider: FakeContactsProvider
+
+    private lateinit var robot: Robot
+
+    @Before
+    fun setUp() {
+        provider = FakeContactsProvider.register(150)
+        robot = FakeSdkService().connectNewRobot(RuntimeEnvironment.getApplication())
+    }
+
+    @Test
+    fun shortPagesAreNotTheEnd() {
+        provider.maxLimit = 30
+        val contacts = robot.getAllContactsPaged(100).toList()
+        assert(contacts.size == 150)
+        assert(contacts.last().userId == "id149")
+    }
+
+    @Test
+    fun totalCountEndsList() {
+        provider.reportsTotalCount = true
+        // Fails the page after the last, which is then never asked for.
+        provider.failingOffset = 150
+        assert(robot.getAllContactsPaged(50).count() == 150)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun failedPageThrows() {
+        provider.failingOffset = 100
+        robot.getAllContactsPaged(50).toList()
+    }
+}
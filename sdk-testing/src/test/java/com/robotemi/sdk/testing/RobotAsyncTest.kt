@@ -0,0 +1,76 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.RobotAsync
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+@RunWith(RobolectricTestRunner::class)
+internal class RobotAsyncTest {
+
+    private val fake = FakeSdkService()
+
+    private lateinit var robot: Robot
+
+    @Before
+    fun setUp() {
+        robot = fake.connectNewRobot(RuntimeEnvironment.getApplication())
+    }
+
+    @Test
+    fun resultReachesFuture() {
+        fake.returns("getVolume", 3)
+        assert(robot.async.getVolumeAsync().get(5, TimeUnit.SECONDS) == 3)
+    }
+
+    @Test
+    fun timeoutFailsWithTimeoutException() {
+        fake.setLatency("getVolume", 10_000)
+        robot.async.timeoutMillis = 100
+        var failure: Throwable? = null
+        val future = robot.async.getVolumeAsync(object : RobotAsync.Callback<Int> {
+            override fun onResult(result: Int) = Unit
+
+            override fun onError(error: Throwable) {
+                failure = error
+            }
+        }, { it.run() })
+        // The main looper is never idled, as if stalled.
+        val thrown = try {
+            future.get(5, TimeUnit.SECONDS)
+            null
+        } catch (e: ExecutionException) {
+            e.cause
+        }
+        assert(thrown is TimeoutException)
+        assert(failure === thrown)
+        assert(!future.isCancelled)
+    }
+
+    @Test
+    fun poolThreadsOutliveTimeouts() {
+        fake.setLatency("getVolume", 10_000)
+        robot.async.timeoutMillis = 50
+        val timedOut = (0 until RobotAsync.MAX_THREADS).map { robot.async.getVolumeAsync() }
+        for (future in timedOut) {
+            try {
+                future.get(5, TimeUnit.SECONDS)
+            } catch (e: ExecutionException) {
+                assert(e.cause is TimeoutException)
+            }
+        }
+
+        // Every thread of the pool was interrupted, and answers the next calls.
+        fake.setLatency("getVolume", 10)
+        fake.returns("getVolume", 3)
+        robot.async.timeoutMillis = 5000
+        val next = (0 until RobotAsync.MAX_THREADS * 2).map { robot.async.getVolumeAsync() }
+        assert(next.all { it.get(5, TimeUnit.SECONDS) == 3 })
+    }
+}
@@ -0,0 +1,56 @@
+package com.robotemi.sdk.testing
+
+import com.robotemi.sdk.BatteryData
+import com.robotemi.sdk.Robot
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+@RunWith(RobolectricTestRunner::class)
+internal class RobotEventsTest {
+
+    private val fake = FakeSdkService()
+
+    private lateinit var robot: Robot
+
+    @Before
+    fun setUp() {
+        robot = fake.connectNewRobot(RuntimeEnvironment.getApplication())
+    }
+
+    @After
+    fun tearDown() {
+        robot.events.close()
+    }
+
+    @Test
+    fun stateResetWhenLastCollectorLeaves() = runBlocking {
+        val events = robot.events
+        fake.returns("getBatteryData", BatteryData(50, false, false, 0))
+        assert(events.batteryStatus.filterNotNull().first().level == 50)
+
+        withTimeout(5000) {
+            while (events.batteryStatus.value != null) delay(10)
+        }
+        fake.returns("getBatteryData", BatteryData(70, true, false, 0))
+        assert(events.batteryStatus.filterNotNull().first().level == 70)
+    }
+
+    @Test
+    fun closedEventsAreReplaced() {
+        val events = robot.events
+        assert(robot.events === events)
+        events.close()
+        assert(events.isClosed)
+        assert(robot.events !== events)
+        assert(!robot.events.isClosed)
+    }
+}
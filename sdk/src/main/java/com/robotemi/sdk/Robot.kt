@@ -11,22 +11,29 @@ import android.database.Cursor
 import android.net.Uri
 import android.os.Handler
 import android.os.Looper
+import android.os.Parcel
 import android.os.ParcelFileDescriptor
 import android.os.RemoteException
 import android.util.Base64
 import android.util.Log
 import androidx.annotation.*
 import androidx.annotation.IntRange
-import androidx.annotation.RestrictTo.Scope.LIBRARY
+import androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP
+import androidx.lifecycle.LifecycleOwner
 import com.google.gson.*
 import com.google.gson.reflect.TypeToken
 import com.robotemi.sdk.activitystream.ActivityStreamObject
 import com.robotemi.sdk.activitystream.ActivityStreamPublishMessage
 import com.robotemi.sdk.activitystream.ActivityStreamUtils
+import com.robotemi.sdk.connection.CommandBuffer
 import com.robotemi.sdk.constants.*
 import com.robotemi.sdk.constants.SdkConstants.FALSE
 import com.robotemi.sdk.constants.SdkConstants.NOT_SET
 import com.robotemi.sdk.constants.SdkConstants.TRUE
+import com.robotemi.sdk.dispatch.EventInterestPublisher
+import com.robotemi.sdk.dispatch.EventRegistry
+import com.robotemi.sdk.dispatch.EventType
+import com.robotemi.sdk.dispatch.RemoveOnDestroy
 import com.robotemi.sdk.exception.OnSdkExceptionListener
 import com.robotemi.sdk.exception.SdkException
 import com.robotemi.sdk.face.ContactModel
@@ -38,10 +45,16 @@ import com.robotemi.sdk.map.*
 import com.robotemi.sdk.map.Layer.CREATOR.roundByCategory
 import com.robotemi.sdk.mediabar.AidlMediaBarController
 import com.robotemi.sdk.mediabar.MediaBarData
+import com.robotemi.sdk.metrics.BinderCallMetrics
+import com.robotemi.sdk.metrics.MetricsDump
+import com.robotemi.sdk.metrics.RobotMetrics
 import com.robotemi.sdk.model.CallEventModel
 import com.robotemi.sdk.model.DetectionData
 import com.robotemi.sdk.model.MemberStatusModel
 import com.robotemi.sdk.model.RecentCallModel
+import com.robotemi.sdk.navigation.JoystickSession
+import com.robotemi.sdk.navigation.MotionCommandChannel
+import com.robotemi.sdk.navigation.PositionFilter
 import com.robotemi.sdk.navigation.listener.OnCurrentPositionChangedListener
 import com.robotemi.sdk.navigation.listener.OnDistanceToDestinationChangedListener
 import com.robotemi.sdk.navigation.listener.OnDistanceToLocationChangedListener
@@ -52,12 +65,19 @@ import com.robotemi.sdk.navigation.model.SpeedLevel
 import com.robotemi.sdk.notification.AlertNotification
 import com.robotemi.sdk.notification.NormalNotification
 import com.robotemi.sdk.notification.NotificationCallback
+import com.robotemi.sdk.paging.PagedQuery
 import com.robotemi.sdk.permission.OnRequestPermissionResultListener
 import com.robotemi.sdk.permission.Permission
+import com.robotemi.sdk.recording.CallbackRecorder
+import com.robotemi.sdk.recording.CallbackReplayer
 import com.robotemi.sdk.sequence.OnSequencePlayStatusChangedListener
 import com.robotemi.sdk.sequence.SequenceModel
 import com.robotemi.sdk.sequence.compatible
+import com.robotemi.sdk.state.ConnectionCache
+import com.robotemi.sdk.state.SingleFlight
+import com.robotemi.sdk.state.StateCache
 import com.robotemi.sdk.telepresence.CallState
+import com.robotemi.sdk.telepresence.ContactStore
 import com.robotemi.sdk.telepresence.LinkBasedMeeting
 import com.robotemi.sdk.telepresence.Participant
 import com.robotemi.sdk.tourguide.TourModel
@@ -69,6 +89,7 @@ import com.robotemi.sdk.voice.model.TtsVoice
 import org.json.JSONException
 import org.json.JSONObject
 import java.io.ByteArrayOutputStream
+import java.io.File
 import java.io.FileNotFoundException
 import java.io.IOException
 import java.io.InputStream
@@ -78,7 +99,8 @@ import java.text.DateFormat
 import java.text.ParseException
 import java.text.SimpleDateFormat
 import java.util.*
-import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
 import java.util.zip.GZIPInputStream
 import kotlin.concurrent.thread
 
@@ -97,118 +119,124 @@ class Robot private constructor(private val context: Context) {
 
     private val listenersMap = HashMap<String, NotificationListener>()
 
+    private val eventRegistry = EventRegistry(uiHandler)
+
+    private val stateCache = StateCache()
+
+    private val connectionCache = ConnectionCache()
+
+    private val singleFlight = SingleFlight()
+
+    private val binderCallMetrics = BinderCallMetrics()
+
+    private val metricsDump = MetricsDump { metrics() }
+
+    private val eventInterest = EventInterestPublisher(eventRegistry) { sendEventInterest(it) }
+
+    /**
+     * Callbacks keeping [stateCache] up to date, wanted even without listeners.
+     */
+    private val stateCacheInterest = EventType.BATTERY_STATUS.mask or
+            EventType.PRIVACY_MODE.mask or
+            EventType.DETECTION_STATE.mask or
+            EventType.LOAD_MAP_STATUS.mask or
+            EventType.LOAD_FLOOR_STATUS.mask
+
+    /**
+     * Callbacks discarding the results kept by [singleFlight], wanted even without listeners.
+     */
+    private val queryCoalescingInterest = EventType.LOCATIONS_UPDATED.mask or
+            EventType.LOAD_MAP_STATUS.mask or
+            EventType.LOAD_FLOOR_STATUS.mask
+
     private val conversationViewAttachesListeners =
-        CopyOnWriteArraySet<ConversationViewAttachesListener>()
+        eventRegistry[EventType.CONVERSATION_VIEW_ATTACHES]
 
-    private val ttsListeners = CopyOnWriteArraySet<TtsListener>()
+    private val ttsListeners = eventRegistry[EventType.TTS_STATUS]
 
-    private val asrListeners = CopyOnWriteArraySet<AsrListener>()
+    private val asrListeners = eventRegistry[EventType.ASR_RESULT]
 
-    private val nlpListeners = CopyOnWriteArraySet<NlpListener>()
+    private val nlpListeners = eventRegistry[EventType.NLP_COMPLETED]
 
-    private val wakeUpWordListeners = CopyOnWriteArraySet<WakeupWordListener>()
+    private val wakeUpWordListeners = eventRegistry[EventType.WAKEUP_WORD]
 
-    private val onRobotReadyListeners = CopyOnWriteArraySet<OnRobotReadyListener>()
+    private val onRobotReadyListeners = eventRegistry[EventType.ROBOT_READY]
 
-    private val onBeWithMeStatusChangeListeners =
-        CopyOnWriteArraySet<OnBeWithMeStatusChangedListener>()
+    private val onBeWithMeStatusChangeListeners = eventRegistry[EventType.BE_WITH_ME_STATUS]
 
-    private val onGoToLocationStatusChangeListeners =
-        CopyOnWriteArraySet<OnGoToLocationStatusChangedListener>()
+    private val onGoToLocationStatusChangeListeners = eventRegistry[EventType.GO_TO_LOCATION_STATUS]
 
-    private val onTelepresenceStatusChangedListeners =
-        CopyOnWriteArraySet<OnTelepresenceStatusChangedListener>()
+    private val onTelepresenceStatusChangedListeners = eventRegistry[EventType.TELEPRESENCE_STATUS]
 
-    private val onTelepresenceEventChangedListener =
-        CopyOnWriteArraySet<OnTelepresenceEventChangedListener>()
+    private val onTelepresenceEventChangedListener = eventRegistry[EventType.TELEPRESENCE_EVENT]
 
-    private val onLocationsUpdatedListeners = CopyOnWriteArraySet<OnLocationsUpdatedListener>()
+    private val onLocationsUpdatedListeners = eventRegistry[EventType.LOCATIONS_UPDATED]
 
-    private val onUsersUpdatedListeners = CopyOnWriteArraySet<OnUsersUpdatedListener>()
+    private val onUsersUpdatedListeners = eventRegistry[EventType.USER_UPDATED]
 
-    private val onBatteryStatusChangedListeners =
-        CopyOnWriteArraySet<OnBatteryStatusChangedListener>()
+    private val onBatteryStatusChangedListeners = eventRegistry[EventType.BATTERY_STATUS]
 
-    private val onPrivacyModeStateChangedListeners =
-        CopyOnWriteArraySet<OnPrivacyModeChangedListener>()
+    private val onPrivacyModeStateChangedListeners = eventRegistry[EventType.PRIVACY_MODE]
 
     private val onConstraintBeWithStatusChangedListeners =
-        CopyOnWriteArraySet<OnConstraintBeWithStatusChangedListener>()
+        eventRegistry[EventType.CONSTRAINT_BE_WITH_STATUS]
 
-    private val onUserInteractionChangedListeners =
-        CopyOnWriteArraySet<OnUserInteractionChangedListener>()
+    private val onUserInteractionChangedListeners = eventRegistry[EventType.USER_INTERACTION]
 
-    private val onDetectionStateChangedListeners =
-        CopyOnWriteArraySet<OnDetectionStateChangedListener>()
+    private val onDetectionStateChangedListeners = eventRegistry[EventType.DETECTION_STATE]
 
     private val onRequestPermissionResultListeners =
-        CopyOnWriteArraySet<OnRequestPermissionResultListener>()
+        eventRegistry[EventType.REQUEST_PERMISSION_RESULT]
 
-    private val onDistanceToLocationChangedListeners =
-        CopyOnWriteArraySet<OnDistanceToLocationChangedListener>()
+    private val onDistanceToLocationChangedListeners = eventRegistry[EventType.DISTANCE_TO_LOCATION]
 
-    private val onCurrentPositionChangedListeners =
-        CopyOnWriteArraySet<OnCurrentPositionChangedListener>()
+    private val onCurrentPositionChangedListeners = eventRegistry[EventType.CURRENT_POSITION]
 
-    private val onSequencePlayStatusChangedListeners =
-        CopyOnWriteArraySet<OnSequencePlayStatusChangedListener>()
+    private val onSequencePlayStatusChangedListeners = eventRegistry[EventType.SEQUENCE_PLAY_STATUS]
 
-    private val onRobotLiftedListeners = CopyOnWriteArraySet<OnRobotLiftedListener>()
+    private val onRobotLiftedListeners = eventRegistry[EventType.ROBOT_LIFTED]
 
-    private val onDetectionDataChangedListeners =
-        CopyOnWriteArraySet<OnDetectionDataChangedListener>()
+    private val onDetectionDataChangedListeners = eventRegistry[EventType.DETECTION_DATA]
 
-    private val onFaceRecognizedListeners = CopyOnWriteArraySet<OnFaceRecognizedListener>()
+    private val onFaceRecognizedListeners = eventRegistry[EventType.FACE_RECOGNIZED]
 
     private val onContinuousFaceRecognizedListeners =
-        CopyOnWriteArraySet<OnContinuousFaceRecognizedListener>()
+        eventRegistry[EventType.CONTINUOUS_FACE_RECOGNIZED]
 
-    private val onSdkExceptionListeners = CopyOnWriteArraySet<OnSdkExceptionListener>()
+    private val onSdkExceptionListeners = eventRegistry[EventType.SDK_EXCEPTION]
 
-    private val onConversationStatusChangedListeners =
-        CopyOnWriteArraySet<OnConversationStatusChangedListener>()
+    private val onConversationStatusChangedListeners = eventRegistry[EventType.CONVERSATION_STATUS]
 
     private val onTtsVisualizerWaveFormDataChangedListeners =
-        CopyOnWriteArraySet<OnTtsVisualizerWaveFormDataChangedListener>()
+        eventRegistry[EventType.TTS_VISUALIZER_WAVE_FORM]
 
-    private val onTtsVisualizerFftDataChangedListeners =
-        CopyOnWriteArraySet<OnTtsVisualizerFftDataChangedListener>()
+    private val onTtsVisualizerFftDataChangedListeners = eventRegistry[EventType.TTS_VISUALIZER_FFT]
 
-    private val onReposeStatusChangedListeners =
-        CopyOnWriteArraySet<OnReposeStatusChangedListener>()
+    private val onReposeStatusChangedListeners = eventRegistry[EventType.REPOSE_STATUS]
 
-    private val onLoadMapStatusChangedListeners =
-        CopyOnWriteArraySet<OnLoadMapStatusChangedListener>()
+    private val onLoadMapStatusChangedListeners = eventRegistry[EventType.LOAD_MAP_STATUS]
 
     private val onDisabledFeatureListUpdatedListeners =
-        CopyOnWriteArraySet<OnDisabledFeatureListUpdatedListener>()
+        eventRegistry[EventType.DISABLED_FEATURE_LIST]
 
-    private val onMovementVelocityChangedListeners =
-        CopyOnWriteArraySet<OnMovementVelocityChangedListener>()
+    private val onMovementVelocityChangedListeners = eventRegistry[EventType.MOVEMENT_VELOCITY]
 
-    private val onMovementStatusChangedListeners =
-        CopyOnWriteArraySet<OnMovementStatusChangedListener>()
+    private val onMovementStatusChangedListeners = eventRegistry[EventType.MOVEMENT_STATUS]
 
-    private val onGreetModeStateChangedListeners =
-        CopyOnWriteArraySet<OnGreetModeStateChangedListener>()
+    private val onGreetModeStateChangedListeners = eventRegistry[EventType.GREET_MODE_STATE]
 
-    private val onLoadFloorStatusChangedListeners =
-        CopyOnWriteArraySet<OnLoadFloorStatusChangedListener>()
+    private val onLoadFloorStatusChangedListeners = eventRegistry[EventType.LOAD_FLOOR_STATUS]
 
     private val onDistanceToDestinationChangedListeners =
-        CopyOnWriteArraySet<OnDistanceToDestinationChangedListener>()
+        eventRegistry[EventType.DISTANCE_TO_DESTINATION]
 
-    private val onSerialRawDataListeners =
-        CopyOnWriteArraySet<OnSerialRawDataListener>()
+    private val onSerialRawDataListeners = eventRegistry[EventType.SERIAL_RAW_DATA]
 
-    private val onRobotDragStateChangedListeners =
-        CopyOnWriteArraySet<OnRobotDragStateChangedListener>()
+    private val onRobotDragStateChangedListeners = eventRegistry[EventType.ROBOT_DRAG_STATE]
 
-    private val onButtonStatusChangedListeners =
-        CopyOnWriteArraySet<OnButtonStatusChangedListener>()
+    private val onButtonStatusChangedListeners = eventRegistry[EventType.BUTTON_STATUS]
 
-    private val onGoToNavPathChangedListeners =
-        CopyOnWriteArraySet<OnGoToNavPathChangedListener>()
+    private val onGoToNavPathChangedListeners = eventRegistry[EventType.GO_TO_NAV_PATH]
 
     private var ttsService: ITtsService? = null
 
@@ -227,20 +255,40 @@ class Robot private constructor(private val context: Context) {
         } catch (e: PackageManager.NameNotFoundException) {
             throw RuntimeException(e)
         }
+        eventRegistry.onInterestChanged = { eventInterest.schedule() }
+        updateInternalInterest()
     }
 
+    /**
+     * Set when reconnecting with [SdkConstants.DISCONNECTED_COMMANDS_BUFFER].
+     */
+    private val commandBuffer = if (
+        applicationInfo.metaData?.getBoolean(SdkConstants.METADATA_RECONNECT, false) == true &&
+        applicationInfo.metaData?.getString(SdkConstants.METADATA_DISCONNECTED_COMMANDS) ==
+        SdkConstants.DISCONNECTED_COMMANDS_BUFFER
+    ) CommandBuffer() else null
+
+    @Volatile
+    private var connected = false
+
+    @Volatile
+    private var callbackRecorder: CallbackRecorder? = null
+
     private val sdkServiceCallback = object : ISdkServiceCallback.Stub() {
 
+        public override fun onTransact(code: Int, data: Parcel, reply: Parcel?, flags: Int): Boolean {
+            val recorder = callbackRecorder ?: return super.onTransact(code, data, reply, flags)
+            return recorder.dispatch(code, data, reply, flags)
+        }
+
         /*****************************************/
         /*                 Voice                 */
         /*****************************************/
 
         override fun onTtsStatusChanged(ttsRequest: TtsRequest): Boolean {
             if (ttsListeners.isEmpty()) return false
-            uiHandler.post {
-                for (ttsListener in ttsListeners) {
-                    ttsListener.onTtsStatusChanged(ttsRequest)
-                }
+            ttsListeners.dispatch {
+                it.onTtsStatusChanged(ttsRequest)
             }
             return true
         }
@@ -250,40 +298,32 @@ class Robot private constructor(private val context: Context) {
 
             val wakeupOrigin = WakeupOrigin.parse(origin)
 
-            uiHandler.post {
-                for (wakeupWordListener in wakeUpWordListeners) {
-                    wakeupWordListener.onWakeupWord(wakeupWord, direction, wakeupOrigin)
-                }
+            wakeUpWordListeners.dispatch {
+                it.onWakeupWord(wakeupWord, direction, wakeupOrigin)
             }
             return true
         }
 
         override fun onNlpCompleted(nlpResult: NlpResult): Boolean {
             if (nlpListeners.isEmpty()) return false
-            uiHandler.post {
-                for (nlpListener in nlpListeners) {
-                    nlpListener.onNlpCompleted(nlpResult)
-                }
+            nlpListeners.dispatch {
+                it.onNlpCompleted(nlpResult)
             }
             return true
         }
 
         override fun onAsrResult(asrText: String, language: Int): Boolean {
             if (asrListeners.isEmpty()) return false
-            uiHandler.post {
-                for (asrListener in asrListeners) {
-                    asrListener.onAsrResult(asrText, SttLanguage.valueToEnum(language))
-                }
+            asrListeners.dispatch {
+                it.onAsrResult(asrText, SttLanguage.valueToEnum(language))
             }
             return true
         }
 
         override fun onConversationViewAttaches(isAttached: Boolean): Boolean {
             if (conversationViewAttachesListeners.isEmpty()) return false
-            uiHandler.post {
-                for (conversationViewAttachesListener in conversationViewAttachesListeners) {
-                    conversationViewAttachesListener.onConversationAttaches(isAttached)
-                }
+            conversationViewAttachesListeners.dispatch {
+                it.onConversationAttaches(isAttached)
             }
             return true
         }
@@ -294,32 +334,24 @@ class Robot private constructor(private val context: Context) {
 
         override fun onConversationStatusChanged(status: Int, text: String): Boolean {
             if (onConversationStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (onConversationStatusChangedListener in onConversationStatusChangedListeners) {
-                    onConversationStatusChangedListener.onConversationStatusChanged(status, text)
-                }
+            onConversationStatusChangedListeners.dispatch {
+                it.onConversationStatusChanged(status, text)
             }
             return true
         }
 
         override fun onTtsVisualizerWaveFormDataChanged(wave: ByteArray): Boolean {
             if (onTtsVisualizerWaveFormDataChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (onTtsVisualizerWaveFormDataChangedListener in onTtsVisualizerWaveFormDataChangedListeners) {
-                    onTtsVisualizerWaveFormDataChangedListener.onTtsVisualizerWaveFormDataChanged(
-                        wave
-                    )
-                }
+            onTtsVisualizerWaveFormDataChangedListeners.dispatchLatest(wave) { listener, value ->
+                listener.onTtsVisualizerWaveFormDataChanged(value)
             }
             return true
         }
 
         override fun onTtsVisualizerFftDataChanged(fft: ByteArray): Boolean {
             if (onTtsVisualizerFftDataChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (onTtsVisualizerFftDataChangedListener in onTtsVisualizerFftDataChangedListeners) {
-                    onTtsVisualizerFftDataChangedListener.onTtsVisualizerFftDataChanged(fft)
-                }
+            onTtsVisualizerFftDataChangedListeners.dispatchLatest(fft) { listener, value ->
+                listener.onTtsVisualizerFftDataChanged(value)
             }
             return false
         }
@@ -351,25 +383,22 @@ class Robot private constructor(private val context: Context) {
             description: String
         ): Boolean {
             if (onGoToLocationStatusChangeListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onGoToLocationStatusChangeListeners) {
-                    listener.onGoToLocationStatusChanged(
-                        location,
-                        status,
-                        descriptionId,
-                        description
-                    )
-                }
+            onGoToLocationStatusChangeListeners.dispatch {
+                it.onGoToLocationStatusChanged(
+                    location,
+                    status,
+                    descriptionId,
+                    description
+                )
             }
             return true
         }
 
         override fun onLocationsUpdated(locations: List<String>): Boolean {
+            singleFlight.forget(QUERY_LOCATIONS)
             if (onLocationsUpdatedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onLocationsUpdatedListeners) {
-                    listener.onLocationsUpdated(locations)
-                }
+            onLocationsUpdatedListeners.dispatch {
+                it.onLocationsUpdated(locations)
             }
             return true
         }
@@ -378,40 +407,32 @@ class Robot private constructor(private val context: Context) {
             if (onDistanceToLocationChangedListeners.isEmpty()) return false
             @Suppress("UNCHECKED_CAST")
             val distancesMap: Map<String, Float> = distances as Map<String, Float>
-            uiHandler.post {
-                for (listener in onDistanceToLocationChangedListeners) {
-                    listener.onDistanceToLocationChanged(distancesMap)
-                }
+            onDistanceToLocationChangedListeners.dispatchLatest(distancesMap) { listener, value ->
+                listener.onDistanceToLocationChanged(value)
             }
             return true
         }
 
         override fun onCurrentPositionChanged(position: Position): Boolean {
             if (onCurrentPositionChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onCurrentPositionChangedListeners) {
-                    listener.onCurrentPositionChanged(position)
-                }
+            onCurrentPositionChangedListeners.dispatchLatest(position) { listener, value ->
+                listener.onCurrentPositionChanged(value)
             }
             return true
         }
 
         override fun onReposeStatusChanged(status: Int, description: String): Boolean {
             if (onReposeStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onReposeStatusChangedListeners) {
-                    listener.onReposeStatusChanged(status, description)
-                }
+            onReposeStatusChangedListeners.dispatch {
+                it.onReposeStatusChanged(status, description)
             }
             return true
         }
 
         override fun onDistanceToDestinationChanged(location: String, distance: Float): Boolean {
             if (onDistanceToDestinationChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onDistanceToDestinationChangedListeners) {
-                    listener.onDistanceToDestinationChanged(location, distance)
-                }
+            onDistanceToDestinationChangedListeners.dispatch {
+                it.onDistanceToDestinationChanged(location, distance)
             }
             return true
         }
@@ -419,10 +440,8 @@ class Robot private constructor(private val context: Context) {
         override fun onGoToNavPathChanged(path: String): Boolean {
             if (onGoToNavPathChangedListeners.isEmpty()) return false
             val pathDecoded = decodeBase64UngzipJson<Layer>(path)?.layerPoses ?: listOf()
-            uiHandler.post {
-                for (listener in onGoToNavPathChangedListeners) {
-                    listener.onGoToNavPathChanged(pathDecoded)
-                }
+            onGoToNavPathChangedListeners.dispatch {
+                it.onGoToNavPathChanged(pathDecoded)
             }
             return true
         }
@@ -433,50 +452,40 @@ class Robot private constructor(private val context: Context) {
 
         override fun onBeWithMeStatusChanged(status: String): Boolean {
             if (onBeWithMeStatusChangeListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onBeWithMeStatusChangeListeners) {
-                    listener.onBeWithMeStatusChanged(status)
-                }
+            onBeWithMeStatusChangeListeners.dispatch {
+                it.onBeWithMeStatusChanged(status)
             }
             return true
         }
 
         override fun onConstraintBeWithStatusChanged(isContraint: Boolean): Boolean {
             if (onConstraintBeWithStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onConstraintBeWithStatusChangedListeners) {
-                    listener.onConstraintBeWithStatusChanged(isContraint)
-                }
+            onConstraintBeWithStatusChangedListeners.dispatch {
+                it.onConstraintBeWithStatusChanged(isContraint)
             }
             return true
         }
 
         override fun onRobotLifted(isLifted: Boolean, reason: String): Boolean {
             if (onRobotLiftedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onRobotLiftedListeners) {
-                    listener.onRobotLifted(isLifted, reason)
-                }
+            onRobotLiftedListeners.dispatch {
+                it.onRobotLifted(isLifted, reason)
             }
             return true
         }
 
         override fun onMovementVelocityChanged(linear: Float): Boolean {
             if (onMovementVelocityChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onMovementVelocityChangedListeners) {
-                    listener.onMovementVelocityChanged(linear)
-                }
+            onMovementVelocityChangedListeners.dispatchLatest(linear) { listener, value ->
+                listener.onMovementVelocityChanged(value)
             }
             return true
         }
 
         override fun onMovementStatusChanged(type: String, status: String): Boolean {
             if (onMovementStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onMovementStatusChangedListeners) {
-                    listener.onMovementStatusChanged(type, status)
-                }
+            onMovementStatusChangedListeners.dispatch {
+                it.onMovementStatusChanged(type, status)
             }
             return true
         }
@@ -487,34 +496,28 @@ class Robot private constructor(private val context: Context) {
 
         override fun onTelepresenceStatusChanged(callState: CallState): Boolean {
             if (onTelepresenceStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onTelepresenceStatusChangedListeners) {
-                    listener?.onTelepresenceStatusChanged(callState)
-                }
+            onTelepresenceStatusChangedListeners.dispatch {
+                it.onTelepresenceStatusChanged(callState)
             }
             return true
         }
 
         override fun onTelepresenceEventChanged(callEventModel: CallEventModel): Boolean {
             if (onTelepresenceEventChangedListener.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onTelepresenceEventChangedListener) {
-                    listener.onTelepresenceEventChanged(callEventModel)
-                }
+            onTelepresenceEventChangedListener.dispatch {
+                it.onTelepresenceEventChanged(callEventModel)
             }
             return true
         }
 
         override fun onUserUpdated(user: UserInfo): Boolean {
             if (onUsersUpdatedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onUsersUpdatedListeners) {
-                    val isValidListener = listener != null && (listener.userIds == null
-                            || listener.userIds!!.isEmpty()
-                            || listener.userIds!!.contains(user.userId))
-                    if (isValidListener) {
-                        listener!!.onUserUpdated(user)
-                    }
+            onUsersUpdatedListeners.dispatch {
+                val isValidListener = it.userIds == null
+                        || it.userIds!!.isEmpty()
+                        || it.userIds!!.contains(user.userId)
+                if (isValidListener) {
+                    it.onUserUpdated(user)
                 }
             }
             return true
@@ -535,51 +538,43 @@ class Robot private constructor(private val context: Context) {
         }
 
         override fun onPrivacyModeStateChanged(state: Boolean): Boolean {
+            stateCache.privacyMode.update(state)
             if (onPrivacyModeStateChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onPrivacyModeStateChangedListeners) {
-                    listener.onPrivacyModeChanged(state)
-                }
+            onPrivacyModeStateChangedListeners.dispatch {
+                it.onPrivacyModeChanged(state)
             }
             return true
         }
 
         override fun onBatteryStatusChanged(batteryData: BatteryData): Boolean {
+            stateCache.battery.update(batteryData)
             if (onBatteryStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onBatteryStatusChangedListeners) {
-                    listener.onBatteryStatusChanged(batteryData)
-                }
+            onBatteryStatusChangedListeners.dispatch {
+                it.onBatteryStatusChanged(batteryData)
             }
             return true
         }
 
         override fun onDisabledFeatureListUpdated(disabledFeatureList: MutableList<String>): Boolean {
             if (onDisabledFeatureListUpdatedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onDisabledFeatureListUpdatedListeners) {
-                    listener.onDisabledFeatureListUpdated(disabledFeatureList)
-                }
+            onDisabledFeatureListUpdatedListeners.dispatch {
+                it.onDisabledFeatureListUpdated(disabledFeatureList)
             }
             return true
         }
 
         override fun onGreetModeStateChanged(state: Int): Boolean {
             if (onGreetModeStateChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                onGreetModeStateChangedListeners.forEach {
-                    it.onGreetModeStateChanged(state)
-                }
+            onGreetModeStateChangedListeners.dispatch {
+                it.onGreetModeStateChanged(state)
             }
             return true
         }
 
         override fun onButtonStatusChanged(buttonType: Int, buttonStatus: Int): Boolean {
             if (onButtonStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                onButtonStatusChangedListeners.forEach {
-                    it.onButtonStatusChanged(HardButton.valueToEnum(buttonType), HardButton.Status.valueToEnum(buttonStatus))
-                }
+            onButtonStatusChangedListeners.dispatch {
+                it.onButtonStatusChanged(HardButton.valueToEnum(buttonType), HardButton.Status.valueToEnum(buttonStatus))
             }
             return true
         }
@@ -594,14 +589,12 @@ class Robot private constructor(private val context: Context) {
             requestCode: Int
         ): Boolean {
             if (onRequestPermissionResultListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onRequestPermissionResultListeners) {
-                    listener.onRequestPermissionResult(
-                        Permission.valueToEnum(permission),
-                        grantResult,
-                        requestCode
-                    )
-                }
+            onRequestPermissionResultListeners.dispatch {
+                it.onRequestPermissionResult(
+                    Permission.valueToEnum(permission),
+                    grantResult,
+                    requestCode
+                )
             }
             return true
         }
@@ -658,30 +651,25 @@ class Robot private constructor(private val context: Context) {
 
         override fun onUserInteractionStatusChanged(isInteracting: Boolean): Boolean {
             if (onUserInteractionChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onUserInteractionChangedListeners) {
-                    listener.onUserInteraction(isInteracting)
-                }
+            onUserInteractionChangedListeners.dispatch {
+                it.onUserInteraction(isInteracting)
             }
             return true
         }
 
         override fun onDetectionStateChanged(state: Int): Boolean {
+            stateCache.detectionState.update(state)
             if (onDetectionStateChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onDetectionStateChangedListeners) {
-                    listener.onDetectionStateChanged(state)
-                }
+            onDetectionStateChangedListeners.dispatch {
+                it.onDetectionStateChanged(state)
             }
             return true
         }
 
         override fun onDetectionDataChanged(detectionData: DetectionData): Boolean {
             if (onDetectionDataChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onDetectionDataChangedListeners) {
-                    listener.onDetectionDataChanged(detectionData)
-                }
+            onDetectionDataChangedListeners.dispatchLatest(detectionData) { listener, value ->
+                listener.onDetectionDataChanged(value)
             }
             return true
         }
@@ -692,10 +680,8 @@ class Robot private constructor(private val context: Context) {
 
         override fun onSequencePlayStatusChanged(status: Int): Boolean {
             if (onSequencePlayStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onSequencePlayStatusChangedListeners) {
-                    listener.onSequencePlayStatusChanged(status)
-                }
+            onSequencePlayStatusChangedListeners.dispatch {
+                it.onSequencePlayStatusChanged(status)
             }
             return true
         }
@@ -706,20 +692,18 @@ class Robot private constructor(private val context: Context) {
 
         override fun onFaceRecognized(contactModelList: MutableList<ContactModel>): Boolean {
             if (onFaceRecognizedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onFaceRecognizedListeners) {
-                    listener.onFaceRecognized(contactModelList.map { it.compatible() })
-                }
+            val contacts = contactModelList.compatible()
+            onFaceRecognizedListeners.dispatch {
+                it.onFaceRecognized(contacts)
             }
             return true
         }
 
         override fun onContinuousFaceRecognized(contactModelList: MutableList<ContactModel>): Boolean {
             if (onContinuousFaceRecognizedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onContinuousFaceRecognizedListeners) {
-                    listener.onContinuousFaceRecognized(contactModelList.map { it.compatible() })
-                }
+            val contacts = contactModelList.compatible()
+            onContinuousFaceRecognizedListeners.dispatch {
+                it.onContinuousFaceRecognized(contacts)
             }
             return true
         }
@@ -730,10 +714,8 @@ class Robot private constructor(private val context: Context) {
 
         override fun onSdkError(sdkException: SdkException): Boolean {
             if (onSdkExceptionListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onSdkExceptionListeners) {
-                    listener.onSdkError(sdkException)
-                }
+            onSdkExceptionListeners.dispatch {
+                it.onSdkError(sdkException)
             }
             return true
         }
@@ -743,21 +725,21 @@ class Robot private constructor(private val context: Context) {
         /*****************************************/
 
         override fun onLoadMapStatusChanged(status: Int, requestId: String?): Boolean {
+            stateCache.currentFloor.invalidate()
+            singleFlight.forgetAll()
             if (onLoadMapStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                for (listener in onLoadMapStatusChangedListeners) {
-                    listener.onLoadMapStatusChanged(status, requestId ?: "")
-                }
+            onLoadMapStatusChangedListeners.dispatch {
+                it.onLoadMapStatusChanged(status, requestId ?: "")
             }
             return true
         }
 
         override fun onLoadFloorStatusChanged(status: Int): Boolean {
+            stateCache.currentFloor.invalidate()
+            singleFlight.forgetAll()
             if (onLoadFloorStatusChangedListeners.isEmpty()) return false
-            uiHandler.post {
-                onLoadFloorStatusChangedListeners.forEach {
-                    it.onLoadFloorStatusChanged(status)
-                }
+            onLoadFloorStatusChangedListeners.dispatch {
+                it.onLoadFloorStatusChanged(status)
             }
             return true
         }
@@ -771,19 +753,15 @@ class Robot private constructor(private val context: Context) {
          */
         override fun onSerialRawData(data: ByteArray) {
             if (onSerialRawDataListeners.isEmpty()) return
-            uiHandler.post {
-                onSerialRawDataListeners.forEach {
-                    it.onSerialRawData(data)
-                }
+            onSerialRawDataListeners.dispatch {
+                it.onSerialRawData(data)
             }
         }
 
         override fun onDragStateChanged(isDragged: Boolean) {
             if (onRobotDragStateChangedListeners.isEmpty()) return
-            uiHandler.post {
-                onRobotDragStateChangedListeners.forEach {
-                    it.onRobotDragStateChanged(isDragged)
-                }
+            onRobotDragStateChangedListeners.dispatch {
+                it.onRobotDragStateChanged(isDragged)
             }
         }
 
@@ -795,7 +773,7 @@ class Robot private constructor(private val context: Context) {
 
     @get:CheckResult
     val isReady
-        get() = sdkService != null
+        get() = connected
 
     @UiThread
     fun onStart(activityInfo: ActivityInfo) {
@@ -806,13 +784,37 @@ class Robot private constructor(private val context: Context) {
         }
     }
 
-    @RestrictTo(LIBRARY)
+    /**
+     * Also used by the sdk-testing artifact to connect a fake service.
+     */
+    @RestrictTo(LIBRARY_GROUP)
     @UiThread
-    internal fun setSdkService(sdkService: ISdkService?) {
-        this.sdkService = sdkService
-        mediaBar = AidlMediaBarController(sdkService)
+    fun setSdkService(sdkService: ISdkService?) {
+        val instrumented = sdkService?.let { binderCallMetrics.instrument(it) }
+        // While reconnecting, commands go to the buffer if any, to be replayed below once connected.
+        this.sdkService = instrumented ?: commandBuffer?.service
+        connected = sdkService != null
+        stateCache.invalidateAll()
+        connectionCache.invalidateAll()
+        singleFlight.forgetAll()
+        mediaBar = AidlMediaBarController(this.sdkService)
         registerCallback()
-        onRobotReadyListeners.forEach { it.onRobotReady(sdkService != null) }
+        if (instrumented != null) commandBuffer?.replay(instrumented)
+        eventInterest.reset()
+        onRobotReadyListeners.dispatchNow { it.onRobotReady(sdkService != null) }
+    }
+
+    /**
+     * @return 0 if not supported by the launcher, null if not connected.
+     */
+    private fun sendEventInterest(mask: Long): Int? {
+        val service = sdkService ?: return null
+        return try {
+            service.setEventInterest(applicationInfo.packageName, mask)
+        } catch (e: RemoteException) {
+            Log.e(TAG, "setEventInterest() error")
+            null
+        }
     }
 
     @UiThread
@@ -824,12 +826,223 @@ class Robot private constructor(private val context: Context) {
         }
     }
 
+    /**
+     * Conflate the high frequency callbacks: position, distance to locations, movement velocity,
+     * detection data and TTS visualizer data.
+     *
+     * When enabled, a listener which has not consumed the previous value yet only receives the newest one,
+     * so it always gets the current state instead of a backlog. Disabled by default.
+     */
+    fun setEventConflationEnabled(enabled: Boolean) {
+        for (listeners in eventRegistry.all) {
+            if (listeners.type.conflatable) listeners.conflating = enabled
+        }
+    }
+
+    /**
+     * Number of intermediate values skipped by conflation, by callback name, e.g. `onCurrentPositionChanged`.
+     */
+    @CheckResult
+    fun getDroppedEventCounts(): Map<String, Long> {
+        return eventRegistry.all
+            .filter { it.type.conflatable }
+            .associate { it.type.name to it.dropped }
+    }
+
+    @Volatile
+    private var robotEvents: RobotEvents? = null
+
+    /**
+     * Robot events as [kotlinx.coroutines.flow.StateFlow] and [kotlinx.coroutines.flow.SharedFlow].
+     * A new instance once the previous one was [closed][RobotEvents.close].
+     */
+    val events: RobotEvents
+        get() {
+            robotEvents?.let { if (!it.isClosed) return it }
+            synchronized(this) {
+                robotEvents?.let { if (!it.isClosed) return it }
+                return RobotEvents(this).also { robotEvents = it }
+            }
+        }
+
+    /**
+     * Getters of [Robot] which call temi, as suspend functions and [java.util.concurrent.Future]s
+     * running on a pool owned by the SDK, so the calling thread never waits on temi.
+     */
+    val async: RobotAsync by lazy { RobotAsync(this) }
+
+    /**
+     * Battery data, privacy mode, detection state and current floor are mirrored locally
+     * from the callbacks and from previous reads, each kept up to date by a callback from temi.
+     * For [maxAgeMillis] after a value is received, the getters return it without asking temi.
+     *
+     * Newly added battery, privacy mode and detection state listeners receive the last known value
+     * right away, regardless of its age.
+     *
+     * @param maxAgeMillis Defaults to 2000, 0 to always ask temi.
+     */
+    fun setStateCacheMaxAge(maxAgeMillis: Long) {
+        stateCache.maxAgeMillis = maxAgeMillis
+        // Without the callbacks the cached values go stale, so they are dropped rather than
+        // kept for when the cache is enabled again.
+        if (maxAgeMillis <= 0) stateCache.invalidateAll()
+        updateInternalInterest()
+    }
+
+    private fun updateInternalInterest() {
+        var mask = 0L
+        if (stateCache.maxAgeMillis > 0) mask = mask or stateCacheInterest
+        if (singleFlight.ttlMillis > 0) mask = mask or queryCoalescingInterest
+        eventInterest.internalMask = mask
+    }
+
+    /**
+     * Make the next read of every cached value go to temi.
+     */
+    fun invalidateStateCache() {
+        stateCache.invalidateAll()
+    }
+
+    /**
+     * Timing of the callbacks received so far, by callback name, e.g. `onCurrentPositionChanged`,
+     * and of the calls to temi, by [ISdkService] method name, e.g. `getLocations`.
+     * Only callbacks delivered and methods called at least once are included.
+     */
+    @CheckResult
+    fun metrics(): RobotMetrics {
+        return RobotMetrics(
+            eventRegistry.all
+                .filter { it.metrics.hasRecords }
+                .associate { it.type.name to it.metrics.snapshot() },
+            binderCallMetrics.snapshot()
+        )
+    }
+
+    fun resetMetrics() {
+        eventRegistry.all.forEach { it.metrics.reset() }
+        binderCallMetrics.reset()
+    }
+
+    /**
+     * Log [metrics] with [RobotMetrics.dumpToLogcat] every [intervalMillis], from a background thread.
+     *
+     * @param intervalMillis 0 to stop, the default.
+     */
+    fun setMetricsDumpInterval(intervalMillis: Long) {
+        metricsDump.schedule(intervalMillis)
+    }
+
+    /**
+     * Concurrent calls to [locations], [getMapList], [getAllFloors] and [getAllSequences]
+     * with the same arguments always share a single call to temi.
+     * With [ttlMillis] above 0, calls coming up to that long after it also get its result.
+     *
+     * Saving or deleting a location, temi reporting new locations, loading a map or a floor,
+     * and finishing or renaming a map discard the kept results.
+     *
+     * @param ttlMillis 0 by default.
+     */
+    fun setQueryCoalescingTtl(ttlMillis: Long) {
+        singleFlight.ttlMillis = ttlMillis
+        updateInternalInterest()
+    }
+
+    /**
+     * Report listeners taking longer than [budgetMillis] in a single callback.
+     * Each slow listener is reported once to the [OnSdkExceptionListener]s,
+     * with [SdkException.CODE_SLOW_LISTENER] and its class name in the message.
+     *
+     * @param budgetMillis 0 to disable, the default.
+     * @param isolate true to also move a slow listener from the main thread to a thread of its own,
+     *                so it stops delaying the other listeners. Only use it if your listeners
+     *                do not touch the UI.
+     */
+    @JvmOverloads
+    fun setSlowListenerBudget(budgetMillis: Long, isolate: Boolean = false) {
+        val watchdog = eventRegistry.watchdog
+        watchdog.onViolation = { type, listener, nanos ->
+            val message = "${listener.javaClass.name} took " +
+                    "${TimeUnit.NANOSECONDS.toMillis(nanos)}ms in ${type.name}, budget is ${budgetMillis}ms"
+            Log.w(TAG, message)
+            val exception = SdkException.slowListener(message)
+            onSdkExceptionListeners.dispatch { it.onSdkError(exception) }
+        }
+        watchdog.isolate = isolate
+        watchdog.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis)
+    }
+
+    /**
+     * Hold the listeners added from now on through weak references, so one never removed
+     * does not keep its Activity alive. A listener garbage collected is dropped on the next callback.
+     *
+     * Listeners referenced by nothing else, e.g. anonymous objects or lambdas,
+     * would be collected right away, so keep a reference to them while they are needed.
+     */
+    fun setWeakListenerReferences(enabled: Boolean) {
+        eventRegistry.weakReferences = enabled
+    }
+
+    /**
+     * Record every callback received from temi into [file], replacing its content,
+     * until [stopCallbackRecording] is called. See [replayCallbacks].
+     */
+    @Throws(IOException::class)
+    fun startCallbackRecording(file: File) {
+        val recorder = CallbackRecorder(file, sdkServiceCallback)
+        callbackRecorder?.close()
+        callbackRecorder = recorder
+    }
+
+    fun stopCallbackRecording() {
+        callbackRecorder?.close()
+        callbackRecorder = null
+    }
+
+    /**
+     * Replay callbacks recorded with [startCallbackRecording] to the listeners, as if received
+     * from temi. Callbacks asking the app to act, like speaking for TTS overriding apps, are replayed too.
+     * A recording replays on any device, and in JVM tests with a [Robot] connected to a fake service.
+     * Replayed callbacks are not recorded.
+     *
+     * @param speed 1 to replay at the recorded pace, 2 twice as fast, 0 as fast as possible.
+     * @return The replay in progress, close it to stop.
+     */
+    @JvmOverloads
+    fun replayCallbacks(file: File, speed: Float = 1f): CallbackReplayer {
+        return CallbackReplayer(file, speed, sdkServiceCallback)
+    }
+
     @UiThread
     fun addOnRobotReadyListener(onRobotReadyListener: OnRobotReadyListener) {
         onRobotReadyListeners.add(onRobotReadyListener)
         onRobotReadyListener.onRobotReady(isReady)
     }
 
+    /**
+     * Listeners added with an [Executor] are called on that executor instead of the main thread.
+     * Every `add*Listener` method has such an overload.
+     * Pass [DIRECT_EXECUTOR] to receive the callbacks directly on the binder thread.
+     */
+    fun addOnRobotReadyListener(onRobotReadyListener: OnRobotReadyListener, executor: Executor) {
+        onRobotReadyListeners.add(onRobotReadyListener, executor)
+        val ready = isReady
+        onRobotReadyListeners.dispatchNowTo(onRobotReadyListener) { it.onRobotReady(ready) }
+    }
+
+    /**
+     * Listeners added with a [LifecycleOwner] are removed when it is destroyed,
+     * so an Activity or Fragment does not need to remove them itself.
+     * Every `add*Listener` method has such an overload.
+     */
+    @UiThread
+    fun addOnRobotReadyListener(owner: LifecycleOwner, onRobotReadyListener: OnRobotReadyListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnRobotReadyListener(onRobotReadyListener) },
+            remove = { removeOnRobotReadyListener(onRobotReadyListener) }
+        )
+    }
+
     @UiThread
     fun removeOnRobotReadyListener(onRobotReadyListener: OnRobotReadyListener) {
         onRobotReadyListeners.remove(onRobotReadyListener)
@@ -880,14 +1093,14 @@ class Robot private constructor(private val context: Context) {
      */
     @get:CheckResult
     val wakeupWord: String
-        get() {
+        get() = connectionCache.wakeupWord.get {
             try {
-                return sdkService?.wakeupWord ?: ""
+                sdkService?.wakeupWord
             } catch (e: RemoteException) {
                 Log.e(TAG, "getWakeupWord() error")
+                null
             }
-            return ""
-        }
+        } ?: ""
 
     /**
      * Trigger temi's wakeup programmatically.
@@ -1137,6 +1350,19 @@ class Robot private constructor(private val context: Context) {
         conversationViewAttachesListeners.add(conversationViewAttachesListener)
     }
 
+    fun addConversationViewAttachesListener(conversationViewAttachesListener: ConversationViewAttachesListener, executor: Executor) {
+        conversationViewAttachesListeners.add(conversationViewAttachesListener, executor)
+    }
+
+    @UiThread
+    fun addConversationViewAttachesListener(owner: LifecycleOwner, conversationViewAttachesListener: ConversationViewAttachesListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addConversationViewAttachesListener(conversationViewAttachesListener) },
+            remove = { removeConversationViewAttachesListener(conversationViewAttachesListener) }
+        )
+    }
+
     @UiThread
     fun removeConversationViewAttachesListener(conversationViewAttachesListener: ConversationViewAttachesListener) {
         conversationViewAttachesListeners.remove(conversationViewAttachesListener)
@@ -1147,6 +1373,19 @@ class Robot private constructor(private val context: Context) {
         nlpListeners.add(nlpListener)
     }
 
+    fun addNlpListener(nlpListener: NlpListener, executor: Executor) {
+        nlpListeners.add(nlpListener, executor)
+    }
+
+    @UiThread
+    fun addNlpListener(owner: LifecycleOwner, nlpListener: NlpListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addNlpListener(nlpListener) },
+            remove = { removeNlpListener(nlpListener) }
+        )
+    }
+
     @UiThread
     fun removeNlpListener(nlpListener: NlpListener) {
         nlpListeners.remove(nlpListener)
@@ -1157,6 +1396,19 @@ class Robot private constructor(private val context: Context) {
         ttsListeners.add(ttsListener)
     }
 
+    fun addTtsListener(ttsListener: TtsListener, executor: Executor) {
+        ttsListeners.add(ttsListener, executor)
+    }
+
+    @UiThread
+    fun addTtsListener(owner: LifecycleOwner, ttsListener: TtsListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addTtsListener(ttsListener) },
+            remove = { removeTtsListener(ttsListener) }
+        )
+    }
+
     @UiThread
     fun removeTtsListener(ttsListener: TtsListener) {
         ttsListeners.remove(ttsListener)
@@ -1167,6 +1419,19 @@ class Robot private constructor(private val context: Context) {
         wakeUpWordListeners.add(wakeupWordListener)
     }
 
+    fun addWakeupWordListener(wakeupWordListener: WakeupWordListener, executor: Executor) {
+        wakeUpWordListeners.add(wakeupWordListener, executor)
+    }
+
+    @UiThread
+    fun addWakeupWordListener(owner: LifecycleOwner, wakeupWordListener: WakeupWordListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addWakeupWordListener(wakeupWordListener) },
+            remove = { removeWakeupWordListener(wakeupWordListener) }
+        )
+    }
+
     @UiThread
     fun removeWakeupWordListener(wakeupWordListener: WakeupWordListener) {
         wakeUpWordListeners.remove(wakeupWordListener)
@@ -1182,11 +1447,37 @@ class Robot private constructor(private val context: Context) {
         asrListeners.add(asrListener)
     }
 
+    fun addAsrListener(asrListener: AsrListener, executor: Executor) {
+        asrListeners.add(asrListener, executor)
+    }
+
+    @UiThread
+    fun addAsrListener(owner: LifecycleOwner, asrListener: AsrListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addAsrListener(asrListener) },
+            remove = { removeAsrListener(asrListener) }
+        )
+    }
+
     @UiThread
     fun addOnConversationStatusChangedListener(onConversationStatusChangedListener: OnConversationStatusChangedListener) {
         onConversationStatusChangedListeners.add(onConversationStatusChangedListener)
     }
 
+    fun addOnConversationStatusChangedListener(onConversationStatusChangedListener: OnConversationStatusChangedListener, executor: Executor) {
+        onConversationStatusChangedListeners.add(onConversationStatusChangedListener, executor)
+    }
+
+    @UiThread
+    fun addOnConversationStatusChangedListener(owner: LifecycleOwner, onConversationStatusChangedListener: OnConversationStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnConversationStatusChangedListener(onConversationStatusChangedListener) },
+            remove = { removeOnConversationStatusChangedListener(onConversationStatusChangedListener) }
+        )
+    }
+
     @UiThread
     fun removeOnConversationStatusChangedListener(onConversationStatusChangedListener: OnConversationStatusChangedListener) {
         onConversationStatusChangedListeners.remove(onConversationStatusChangedListener)
@@ -1197,6 +1488,19 @@ class Robot private constructor(private val context: Context) {
         onTtsVisualizerWaveFormDataChangedListeners.add(onTtsVisualizerWaveFormDataChangedListener)
     }
 
+    fun addOnTtsVisualizerWaveFormDataChangedListener(onTtsVisualizerWaveFormDataChangedListener: OnTtsVisualizerWaveFormDataChangedListener, executor: Executor) {
+        onTtsVisualizerWaveFormDataChangedListeners.add(onTtsVisualizerWaveFormDataChangedListener, executor)
+    }
+
+    @UiThread
+    fun addOnTtsVisualizerWaveFormDataChangedListener(owner: LifecycleOwner, onTtsVisualizerWaveFormDataChangedListener: OnTtsVisualizerWaveFormDataChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnTtsVisualizerWaveFormDataChangedListener(onTtsVisualizerWaveFormDataChangedListener) },
+            remove = { removeOnTtsVisualizerWaveFormDataChangedListener(onTtsVisualizerWaveFormDataChangedListener) }
+        )
+    }
+
     @UiThread
     fun removeOnTtsVisualizerWaveFormDataChangedListener(onTtsVisualizerWaveFormDataChangedListener: OnTtsVisualizerWaveFormDataChangedListener) {
         onTtsVisualizerWaveFormDataChangedListeners.remove(
@@ -1209,6 +1513,19 @@ class Robot private constructor(private val context: Context) {
         onTtsVisualizerFftDataChangedListeners.add(onTtsVisualizerFftDataChangedListener)
     }
 
+    fun addOnTtsVisualizerFftDataChangedListener(onTtsVisualizerFftDataChangedListener: OnTtsVisualizerFftDataChangedListener, executor: Executor) {
+        onTtsVisualizerFftDataChangedListeners.add(onTtsVisualizerFftDataChangedListener, executor)
+    }
+
+    @UiThread
+    fun addOnTtsVisualizerFftDataChangedListener(owner: LifecycleOwner, onTtsVisualizerFftDataChangedListener: OnTtsVisualizerFftDataChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnTtsVisualizerFftDataChangedListener(onTtsVisualizerFftDataChangedListener) },
+            remove = { removeOnTtsVisualizerFftDataChangedListener(onTtsVisualizerFftDataChangedListener) }
+        )
+    }
+
     @UiThread
     fun removeOnTtsVisualizerFftDataChangedListener(onTtsVisualizerFftDataChangedListener: OnTtsVisualizerFftDataChangedListener) {
         onTtsVisualizerFftDataChangedListeners.remove(onTtsVisualizerFftDataChangedListener)
@@ -1238,6 +1555,8 @@ class Robot private constructor(private val context: Context) {
             return sdkService?.saveLocation(name) ?: false
         } catch (e: RemoteException) {
             Log.e(TAG, "saveLocation(String) error")
+        } finally {
+            singleFlight.forget(QUERY_LOCATIONS)
         }
         return true
     }
@@ -1257,6 +1576,8 @@ class Robot private constructor(private val context: Context) {
             return sdkService?.deleteLocation(name) ?: false
         } catch (e: RemoteException) {
             Log.e(TAG, "deleteLocation(String) error")
+        } finally {
+            singleFlight.forget(QUERY_LOCATIONS)
         }
         return false
     }
@@ -1269,12 +1590,16 @@ class Robot private constructor(private val context: Context) {
     @get:CheckResult
     val locations: List<String>
         get() {
-            try {
-                return sdkService?.locations ?: emptyList()
-            } catch (e: RemoteException) {
-                Log.e(TAG, "getLocations() error")
-            }
-            return emptyList()
+            val locations = singleFlight.run(QUERY_LOCATIONS) {
+                try {
+                    sdkService?.locations
+                } catch (e: RemoteException) {
+                    Log.e(TAG, "getLocations() error")
+                    null
+                }
+            } ?: return emptyList()
+            // A copy, as the result may be shared with other callers.
+            return ArrayList(locations)
         }
 
     /**
@@ -1488,6 +1813,19 @@ class Robot private constructor(private val context: Context) {
         onGoToLocationStatusChangeListeners.add(listener)
     }
 
+    fun addOnGoToLocationStatusChangedListener(listener: OnGoToLocationStatusChangedListener, executor: Executor) {
+        onGoToLocationStatusChangeListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnGoToLocationStatusChangedListener(owner: LifecycleOwner, listener: OnGoToLocationStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnGoToLocationStatusChangedListener(listener) },
+            remove = { removeOnGoToLocationStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnGoToLocationStatusChangedListener(listener: OnGoToLocationStatusChangedListener) {
         onGoToLocationStatusChangeListeners.remove(listener)
@@ -1498,6 +1836,19 @@ class Robot private constructor(private val context: Context) {
         onLocationsUpdatedListeners.add(listener)
     }
 
+    fun addOnLocationsUpdatedListener(listener: OnLocationsUpdatedListener, executor: Executor) {
+        onLocationsUpdatedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnLocationsUpdatedListener(owner: LifecycleOwner, listener: OnLocationsUpdatedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnLocationsUpdatedListener(listener) },
+            remove = { removeOnLocationsUpdateListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnLocationsUpdateListener(listener: OnLocationsUpdatedListener) {
         onLocationsUpdatedListeners.remove(listener)
@@ -1508,6 +1859,19 @@ class Robot private constructor(private val context: Context) {
         onDistanceToLocationChangedListeners.add(listener)
     }
 
+    fun addOnDistanceToLocationChangedListener(listener: OnDistanceToLocationChangedListener, executor: Executor) {
+        onDistanceToLocationChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnDistanceToLocationChangedListener(owner: LifecycleOwner, listener: OnDistanceToLocationChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnDistanceToLocationChangedListener(listener) },
+            remove = { removeOnDistanceToLocationChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnDistanceToLocationChangedListener(listener: OnDistanceToLocationChangedListener) {
         onDistanceToLocationChangedListeners.remove(listener)
@@ -1519,6 +1883,46 @@ class Robot private constructor(private val context: Context) {
         listener.onCurrentPositionChanged(getPosition())
     }
 
+    fun addOnCurrentPositionChangedListener(listener: OnCurrentPositionChangedListener, executor: Executor) {
+        onCurrentPositionChangedListeners.add(listener, executor)
+        executor.execute { listener.onCurrentPositionChanged(getPosition()) }
+    }
+
+    /**
+     * Add a listener receiving only the positions passing the given thresholds, checked
+     * against the last position it received. Positions filtered out cost no thread switch.
+     * The first position coming from temi after adding it is always delivered.
+     * Unlike the other overloads, temi is not asked for the current position,
+     * so adding the listener does not wait for temi.
+     *
+     * @param minIntervalMs Minimum time between two positions.
+     * @param minDistance Minimum distance in meters the robot has to move, 0 for no minimum.
+     * @param minYawDelta Minimum rotation in radians the robot has to turn, 0 for no minimum.
+     *                    A position is delivered if either [minDistance] or [minYawDelta] is reached.
+     * @param executor Executor to call the listener on, the main thread if null.
+     */
+    @JvmOverloads
+    fun addOnCurrentPositionChangedListener(
+        listener: OnCurrentPositionChangedListener,
+        minIntervalMs: Long,
+        minDistance: Float,
+        minYawDelta: Float,
+        executor: Executor? = null
+    ) {
+        onCurrentPositionChangedListeners.add(
+            listener, executor, PositionFilter(minIntervalMs, minDistance, minYawDelta)
+        )
+    }
+
+    @UiThread
+    fun addOnCurrentPositionChangedListener(owner: LifecycleOwner, listener: OnCurrentPositionChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnCurrentPositionChangedListener(listener) },
+            remove = { removeOnCurrentPositionChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnCurrentPositionChangedListener(listener: OnCurrentPositionChangedListener) {
         onCurrentPositionChangedListeners.remove(listener)
@@ -1529,6 +1933,19 @@ class Robot private constructor(private val context: Context) {
         onReposeStatusChangedListeners.add(listener)
     }
 
+    fun addOnReposeStatusChangedListener(listener: OnReposeStatusChangedListener, executor: Executor) {
+        onReposeStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnReposeStatusChangedListener(owner: LifecycleOwner, listener: OnReposeStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnReposeStatusChangedListener(listener) },
+            remove = { removeOnReposeStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnReposeStatusChangedListener(listener: OnReposeStatusChangedListener) {
         onReposeStatusChangedListeners.remove(listener)
@@ -1539,6 +1956,19 @@ class Robot private constructor(private val context: Context) {
         onDistanceToDestinationChangedListeners.add(listener)
     }
 
+    fun addOnDistanceToDestinationChangedListener(listener: OnDistanceToDestinationChangedListener, executor: Executor) {
+        onDistanceToDestinationChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnDistanceToDestinationChangedListener(owner: LifecycleOwner, listener: OnDistanceToDestinationChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnDistanceToDestinationChangedListener(listener) },
+            remove = { removeOnDistanceToDestinationChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnDistanceToDestinationChangedListener(listener: OnDistanceToDestinationChangedListener) {
         onDistanceToDestinationChangedListeners.remove(listener)
@@ -1554,6 +1984,19 @@ class Robot private constructor(private val context: Context) {
         onGoToNavPathChangedListeners.add(listener)
     }
 
+    fun addOnGoToNavPathChangedListener(listener: OnGoToNavPathChangedListener, executor: Executor) {
+        onGoToNavPathChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnGoToNavPathChangedListener(owner: LifecycleOwner, listener: OnGoToNavPathChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnGoToNavPathChangedListener(listener) },
+            remove = { removeOnGoToNavPathChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnGoToNavPathChangedListener(listener: OnGoToNavPathChangedListener) {
         onGoToNavPathChangedListeners.remove(listener)
@@ -1667,11 +2110,52 @@ class Robot private constructor(private val context: Context) {
         }
     }
 
+    /**
+     * [skidJoy], [turnBy], [tiltAngle], [tiltBy] and [stopMovement] queued and sent in order
+     * from a thread of the SDK, so the caller does not wait for temi.
+     * Only a waiting [skidJoy] is ever replaced by a newer one, no other command is dropped.
+     */
+    val motion: MotionCommandChannel by lazy { MotionCommandChannel(this) }
+
+    /**
+     * Start driving temi with [skidJoy] at a fixed rate, see [JoystickSession].
+     *
+     * @param rateHz Calls per second, from 1 to [JoystickSession.MAX_RATE_HZ].
+     * @param deadManTimeoutMs Time without [JoystickSession.update] after which the robot is stopped.
+     * @param smart Moving with bypassing the obstacles.
+     */
+    @JvmOverloads
+    fun startJoystickSession(
+        @IntRange(from = 1, to = JoystickSession.MAX_RATE_HZ.toLong()) rateHz: Int = JoystickSession.DEFAULT_RATE_HZ,
+        deadManTimeoutMs: Long = JoystickSession.DEFAULT_DEAD_MAN_TIMEOUT_MS,
+        smart: Boolean = false
+    ): JoystickSession {
+        return JoystickSession(
+            this,
+            rateHz.coerceIn(1, JoystickSession.MAX_RATE_HZ),
+            deadManTimeoutMs,
+            smart
+        )
+    }
+
     @UiThread
     fun addOnBeWithMeStatusChangedListener(listener: OnBeWithMeStatusChangedListener) {
         onBeWithMeStatusChangeListeners.add(listener)
     }
 
+    fun addOnBeWithMeStatusChangedListener(listener: OnBeWithMeStatusChangedListener, executor: Executor) {
+        onBeWithMeStatusChangeListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnBeWithMeStatusChangedListener(owner: LifecycleOwner, listener: OnBeWithMeStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnBeWithMeStatusChangedListener(listener) },
+            remove = { removeOnBeWithMeStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnBeWithMeStatusChangedListener(listener: OnBeWithMeStatusChangedListener) {
         onBeWithMeStatusChangeListeners.remove(listener)
@@ -1682,6 +2166,19 @@ class Robot private constructor(private val context: Context) {
         onConstraintBeWithStatusChangedListeners.add(listener)
     }
 
+    fun addOnConstraintBeWithStatusChangedListener(listener: OnConstraintBeWithStatusChangedListener, executor: Executor) {
+        onConstraintBeWithStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnConstraintBeWithStatusChangedListener(owner: LifecycleOwner, listener: OnConstraintBeWithStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnConstraintBeWithStatusChangedListener(listener) },
+            remove = { removeOnConstraintBeWithStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnConstraintBeWithStatusChangedListener(listener: OnConstraintBeWithStatusChangedListener) {
         onConstraintBeWithStatusChangedListeners.remove(listener)
@@ -1692,6 +2189,19 @@ class Robot private constructor(private val context: Context) {
         onRobotLiftedListeners.add(listener)
     }
 
+    fun addOnRobotLiftedListener(listener: OnRobotLiftedListener, executor: Executor) {
+        onRobotLiftedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnRobotLiftedListener(owner: LifecycleOwner, listener: OnRobotLiftedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnRobotLiftedListener(listener) },
+            remove = { removeOnRobotLiftedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnRobotLiftedListener(listener: OnRobotLiftedListener) {
         onRobotLiftedListeners.remove(listener)
@@ -1702,6 +2212,19 @@ class Robot private constructor(private val context: Context) {
         onMovementVelocityChangedListeners.add(listener)
     }
 
+    fun addOnMovementVelocityChangedListener(listener: OnMovementVelocityChangedListener, executor: Executor) {
+        onMovementVelocityChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnMovementVelocityChangedListener(owner: LifecycleOwner, listener: OnMovementVelocityChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnMovementVelocityChangedListener(listener) },
+            remove = { removeOnMovementVelocityChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnMovementVelocityChangedListener(listener: OnMovementVelocityChangedListener) {
         onMovementVelocityChangedListeners.remove(listener)
@@ -1712,6 +2235,19 @@ class Robot private constructor(private val context: Context) {
         onMovementStatusChangedListeners.add(listener)
     }
 
+    fun addOnMovementStatusChangedListener(listener: OnMovementStatusChangedListener, executor: Executor) {
+        onMovementStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnMovementStatusChangedListener(owner: LifecycleOwner, listener: OnMovementStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnMovementStatusChangedListener(listener) },
+            remove = { removeOnMovementStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnMovementStatusChangedListener(listener: OnMovementStatusChangedListener) {
         onMovementStatusChangedListeners.remove(listener)
@@ -1743,12 +2279,48 @@ class Robot private constructor(private val context: Context) {
         get() {
             val contactList = ArrayList<UserInfo>()
             try {
-                contactList.addAll(sdkService?.allContacts ?: emptyList())
+                contactList.addAll(sdkService?.allContacts ?: emptyList())
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getAllContacts() error")
+            }
+            return contactList
+        }
+
+    /**
+     * Same as [allContact], but read from temi one page at a time while iterating,
+     * so only a page is held at once. Iterate on a worker thread.
+     *
+     * On launchers without paging, the whole list is read when iteration starts.
+     * If a later page fails, iteration throws [IllegalStateException] rather than
+     * ending early, so a partial list is never taken for the whole one.
+     */
+    @WorkerThread
+    @CheckResult
+    @JvmOverloads
+    fun getAllContactsPaged(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Sequence<UserInfo> {
+        return PagedQuery(
+            context.contentResolver, SdkConstants.PROVIDER_PATH_CONTACTS, UserInfo::class.java
+        ) { allContact }.asSequence(pageSize)
+    }
+
+    /**
+     * Same as [getAllContactsPaged], read at once.
+     *
+     * @return `null` if any page failed, rather than part of the contacts.
+     */
+    @WorkerThread
+    internal fun readAllContacts(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): List<UserInfo>? {
+        return PagedQuery(
+            context.contentResolver, SdkConstants.PROVIDER_PATH_CONTACTS, UserInfo::class.java
+        ) {
+            try {
+                sdkService?.allContacts
             } catch (e: RemoteException) {
                 Log.e(TAG, "getAllContacts() error")
+                null
             }
-            return contactList
-        }
+        }.readAll(pageSize)
+    }
 
     /**
      * Fetch recent calls.
@@ -1764,6 +2336,18 @@ class Robot private constructor(private val context: Context) {
             return emptyList()
         }
 
+    /**
+     * Same as [recentCalls], read one page at a time, see [getAllContactsPaged].
+     */
+    @WorkerThread
+    @CheckResult
+    @JvmOverloads
+    fun getRecentCallsPaged(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Sequence<RecentCallModel> {
+        return PagedQuery(
+            context.contentResolver, SdkConstants.PROVIDER_PATH_RECENT_CALLS, RecentCallModel::class.java
+        ) { recentCalls }.asSequence(pageSize)
+    }
+
     /**
      * Start a video call to the temi user.
      *
@@ -1813,6 +2397,23 @@ class Robot private constructor(private val context: Context) {
             return emptyList()
         }
 
+    /**
+     * Same as [membersStatus], read one page at a time, see [getAllContactsPaged].
+     */
+    @WorkerThread
+    @CheckResult
+    @JvmOverloads
+    fun getMembersStatusPaged(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Sequence<MemberStatusModel> {
+        return PagedQuery(
+            context.contentResolver, SdkConstants.PROVIDER_PATH_MEMBERS_STATUS, MemberStatusModel::class.java
+        ) { membersStatus }.asSequence(pageSize)
+    }
+
+    /**
+     * Contacts and members status kept locally and updated incrementally, see [ContactStore].
+     */
+    val contactStore: ContactStore by lazy { ContactStore(this) }
+
     /**
      * Start a video call to the temi user. Require MEETINGS permission.
      *
@@ -1851,6 +2452,19 @@ class Robot private constructor(private val context: Context) {
         onTelepresenceStatusChangedListeners.add(listener)
     }
 
+    fun addOnTelepresenceStatusChangedListener(listener: OnTelepresenceStatusChangedListener, executor: Executor) {
+        onTelepresenceStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnTelepresenceStatusChangedListener(owner: LifecycleOwner, listener: OnTelepresenceStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnTelepresenceStatusChangedListener(listener) },
+            remove = { removeOnTelepresenceStatusChangedListener(listener) }
+        )
+    }
+
     /**
      * Stop listening for Telepresence Status changes.
      *
@@ -1871,6 +2485,19 @@ class Robot private constructor(private val context: Context) {
         onUsersUpdatedListeners.add(listener)
     }
 
+    fun addOnUsersUpdatedListener(listener: OnUsersUpdatedListener, executor: Executor) {
+        onUsersUpdatedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnUsersUpdatedListener(owner: LifecycleOwner, listener: OnUsersUpdatedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnUsersUpdatedListener(listener) },
+            remove = { removeOnUsersUpdatedListener(listener) }
+        )
+    }
+
     /**
      * Stop listening for user information updates.
      *
@@ -1886,6 +2513,19 @@ class Robot private constructor(private val context: Context) {
         onTelepresenceEventChangedListener.add(listener)
     }
 
+    fun addOnTelepresenceEventChangedListener(listener: OnTelepresenceEventChangedListener, executor: Executor) {
+        onTelepresenceEventChangedListener.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnTelepresenceEventChangedListener(owner: LifecycleOwner, listener: OnTelepresenceEventChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnTelepresenceEventChangedListener(listener) },
+            remove = { removeOnTelepresenceEventChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnTelepresenceEventChangedListener(listener: OnTelepresenceEventChangedListener) {
         onTelepresenceEventChangedListener.remove(listener)
@@ -1902,13 +2542,13 @@ class Robot private constructor(private val context: Context) {
      */
     @get:CheckResult
     val serialNumber: String?
-        get() {
+        get() = connectionCache.serialNumber.get {
             try {
-                return sdkService?.serialNumber
+                sdkService?.serialNumber
             } catch (e: RemoteException) {
                 Log.e(TAG, "getSerialNumber() error")
+                null
             }
-            return null
         }
 
     /**
@@ -1918,13 +2558,13 @@ class Robot private constructor(private val context: Context) {
      */
     @get:CheckResult
     val batteryData: BatteryData?
-        get() {
+        get() = stateCache.battery.get {
             try {
-                return sdkService?.batteryData
+                sdkService?.batteryData
             } catch (e: RemoteException) {
                 Log.e(TAG, "getBatteryData() error")
+                null
             }
-            return null
         }
 
     /**
@@ -1965,20 +2605,21 @@ class Robot private constructor(private val context: Context) {
      */
     @get:CheckResult
     var privacyMode: Boolean
-        get() {
+        get() = stateCache.privacyMode.get {
             try {
-                return sdkService?.privacyModeState ?: false
+                sdkService?.privacyModeState
             } catch (e: RemoteException) {
                 Log.e(TAG, "getPrivacyModeState() error")
+                null
             }
-            return false
-        }
+        } ?: false
         set(on) {
             try {
                 sdkService?.togglePrivacyMode(on, applicationInfo.packageName)
             } catch (e: RemoteException) {
                 Log.e(TAG, "togglePrivacyMode() error")
             }
+            stateCache.privacyMode.invalidate()
         }
 
     /**
@@ -2059,28 +2700,28 @@ class Robot private constructor(private val context: Context) {
      */
     @get:CheckResult
     val launcherVersion: String
-        get() {
+        get() = connectionCache.launcherVersion.get {
             try {
-                return sdkService?.launcherVersion ?: ""
+                sdkService?.launcherVersion
             } catch (e: RemoteException) {
                 Log.e(TAG, "getLauncherVersion() error")
+                null
             }
-            return ""
-        }
+        } ?: ""
 
     /**
      * Get version of the Robox.
      */
     @get:CheckResult
     val roboxVersion: String
-        get() {
+        get() = connectionCache.roboxVersion.get {
             try {
-                return sdkService?.roboxVersion ?: ""
+                sdkService?.roboxVersion
             } catch (e: RemoteException) {
                 Log.e(TAG, "getRoboxVersion() error")
+                null
             }
-            return ""
-        }
+        } ?: ""
 
     /**
      * Show or hide the green badge(Movement indicator such as navigation, follow...) at the top of the screen.
@@ -2347,12 +2988,14 @@ class Robot private constructor(private val context: Context) {
      */
     @CheckResult
     fun getNickName(): String {
-        return try {
-            sdkService?.getNickName(applicationInfo.packageName) ?: ""
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getNickName() error")
-            ""
-        }
+        return connectionCache.nickName.get {
+            try {
+                sdkService?.getNickName(applicationInfo.packageName)
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getNickName() error")
+                null
+            }
+        } ?: ""
     }
 
     /**
@@ -2459,13 +3102,17 @@ class Robot private constructor(private val context: Context) {
      */
     @CheckResult
     fun getSupportedLatinKeyboards(): Map<String, Boolean> {
-        return try {
-            @Suppress("UNCHECKED_CAST")
-            sdkService?.supportedLatinKeyboards as Map<String, Boolean>
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getSupportedLatinKeyboards() error")
-            emptyMap()
-        }
+        val keyboards = connectionCache.supportedLatinKeyboards.get {
+            try {
+                @Suppress("UNCHECKED_CAST")
+                sdkService?.supportedLatinKeyboards as Map<String, Boolean>?
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getSupportedLatinKeyboards() error")
+                null
+            }
+        } ?: return emptyMap()
+        // A copy, as the cached map is shared.
+        return HashMap(keyboards)
     }
 
     /**
@@ -2481,6 +3128,7 @@ class Robot private constructor(private val context: Context) {
         } catch (e: RemoteException) {
             Log.e(TAG, "enabledLatinKeyboards() error")
         }
+        connectionCache.supportedLatinKeyboards.invalidate()
     }
 
     /**
@@ -2516,12 +3164,14 @@ class Robot private constructor(private val context: Context) {
      */
     @CheckResult
     fun hasCliffSensor(): Boolean {
-        return try {
-            sdkService?.hasCliffSensor() ?: false
-        } catch (e: RemoteException) {
-            Log.e(TAG, "hasCliffSensor() error")
-            false
-        }
+        return connectionCache.hasCliffSensor.get {
+            try {
+                sdkService?.hasCliffSensor()
+            } catch (e: RemoteException) {
+                Log.e(TAG, "hasCliffSensor() error")
+                null
+            }
+        } ?: false
     }
 
     /**
@@ -2686,6 +3336,26 @@ class Robot private constructor(private val context: Context) {
     @UiThread
     fun addOnPrivacyModeStateChangedListener(listener: OnPrivacyModeChangedListener) {
         onPrivacyModeStateChangedListeners.add(listener)
+        deliverLastPrivacyMode(listener)
+    }
+
+    fun addOnPrivacyModeStateChangedListener(listener: OnPrivacyModeChangedListener, executor: Executor) {
+        onPrivacyModeStateChangedListeners.add(listener, executor)
+        deliverLastPrivacyMode(listener)
+    }
+
+    @UiThread
+    fun addOnPrivacyModeStateChangedListener(owner: LifecycleOwner, listener: OnPrivacyModeChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnPrivacyModeStateChangedListener(listener) },
+            remove = { removeOnPrivacyModeStateChangedListener(listener) }
+        )
+    }
+
+    private fun deliverLastPrivacyMode(listener: OnPrivacyModeChangedListener) {
+        val state = stateCache.privacyMode.last() ?: return
+        onPrivacyModeStateChangedListeners.dispatchTo(listener) { it.onPrivacyModeChanged(state) }
     }
 
     @UiThread
@@ -2696,6 +3366,26 @@ class Robot private constructor(private val context: Context) {
     @UiThread
     fun addOnBatteryStatusChangedListener(listener: OnBatteryStatusChangedListener) {
         onBatteryStatusChangedListeners.add(listener)
+        deliverLastBatteryStatus(listener)
+    }
+
+    fun addOnBatteryStatusChangedListener(listener: OnBatteryStatusChangedListener, executor: Executor) {
+        onBatteryStatusChangedListeners.add(listener, executor)
+        deliverLastBatteryStatus(listener)
+    }
+
+    @UiThread
+    fun addOnBatteryStatusChangedListener(owner: LifecycleOwner, listener: OnBatteryStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnBatteryStatusChangedListener(listener) },
+            remove = { removeOnBatteryStatusChangedListener(listener) }
+        )
+    }
+
+    private fun deliverLastBatteryStatus(listener: OnBatteryStatusChangedListener) {
+        val batteryData = stateCache.battery.last() ?: return
+        onBatteryStatusChangedListeners.dispatchTo(listener) { it.onBatteryStatusChanged(batteryData) }
     }
 
     @UiThread
@@ -2708,6 +3398,19 @@ class Robot private constructor(private val context: Context) {
         onDisabledFeatureListUpdatedListeners.add(listener)
     }
 
+    fun addOnDisabledFeatureListUpdatedListener(listener: OnDisabledFeatureListUpdatedListener, executor: Executor) {
+        onDisabledFeatureListUpdatedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnDisabledFeatureListUpdatedListener(owner: LifecycleOwner, listener: OnDisabledFeatureListUpdatedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnDisabledFeatureListUpdatedListener(listener) },
+            remove = { removeOnDisabledFeatureListUpdatedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnDisabledFeatureListUpdatedListener(listener: OnDisabledFeatureListUpdatedListener) {
         onDisabledFeatureListUpdatedListeners.remove(listener)
@@ -2718,6 +3421,19 @@ class Robot private constructor(private val context: Context) {
         onGreetModeStateChangedListeners.add(listener)
     }
 
+    fun addOnGreetModeStateChangedListener(listener: OnGreetModeStateChangedListener, executor: Executor) {
+        onGreetModeStateChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnGreetModeStateChangedListener(owner: LifecycleOwner, listener: OnGreetModeStateChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnGreetModeStateChangedListener(listener) },
+            remove = { removeOnGreetModeStateChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnGreetModeStateChangedListener(listener: OnGreetModeStateChangedListener) {
         onGreetModeStateChangedListeners.remove(listener)
@@ -2857,6 +3573,22 @@ class Robot private constructor(private val context: Context) {
         }
     }
 
+    /**
+     * Read the main settings of temi at once, in a single call on launchers supporting it,
+     * or else with all the getters called in parallel.
+     */
+    @WorkerThread
+    @CheckResult
+    fun getSettingsSnapshot(): SettingsSnapshot {
+        val bundle = try {
+            sdkService?.getSettingsSnapshot(applicationInfo.packageName)
+        } catch (e: RemoteException) {
+            Log.e(TAG, "getSettingsSnapshot() error")
+            null
+        }
+        return SettingsSnapshot.read(bundle, this) { async.execute(it) }
+    }
+
     /**
      * Get current home screen mode
      * @return current [HomeScreenMode]
@@ -2975,6 +3707,19 @@ class Robot private constructor(private val context: Context) {
         onUserInteractionChangedListeners.add(listener)
     }
 
+    fun addOnUserInteractionChangedListener(listener: OnUserInteractionChangedListener, executor: Executor) {
+        onUserInteractionChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnUserInteractionChangedListener(owner: LifecycleOwner, listener: OnUserInteractionChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnUserInteractionChangedListener(listener) },
+            remove = { removeOnUserInteractionChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnUserInteractionChangedListener(listener: OnUserInteractionChangedListener) {
         onUserInteractionChangedListeners.remove(listener)
@@ -2983,6 +3728,26 @@ class Robot private constructor(private val context: Context) {
     @UiThread
     fun addOnDetectionStateChangedListener(listener: OnDetectionStateChangedListener) {
         onDetectionStateChangedListeners.add(listener)
+        deliverLastDetectionState(listener)
+    }
+
+    fun addOnDetectionStateChangedListener(listener: OnDetectionStateChangedListener, executor: Executor) {
+        onDetectionStateChangedListeners.add(listener, executor)
+        deliverLastDetectionState(listener)
+    }
+
+    @UiThread
+    fun addOnDetectionStateChangedListener(owner: LifecycleOwner, listener: OnDetectionStateChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnDetectionStateChangedListener(listener) },
+            remove = { removeOnDetectionStateChangedListener(listener) }
+        )
+    }
+
+    private fun deliverLastDetectionState(listener: OnDetectionStateChangedListener) {
+        val state = stateCache.detectionState.last() ?: return
+        onDetectionStateChangedListeners.dispatchTo(listener) { it.onDetectionStateChanged(state) }
     }
 
     @Deprecated(
@@ -3005,6 +3770,19 @@ class Robot private constructor(private val context: Context) {
         onDetectionDataChangedListeners.add(listener)
     }
 
+    fun addOnDetectionDataChangedListener(listener: OnDetectionDataChangedListener, executor: Executor) {
+        onDetectionDataChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnDetectionDataChangedListener(owner: LifecycleOwner, listener: OnDetectionDataChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnDetectionDataChangedListener(listener) },
+            remove = { removeOnDetectionDataChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnDetectionDataChangedListener(listener: OnDetectionDataChangedListener) {
         onDetectionDataChangedListeners.remove(listener)
@@ -3085,6 +3863,19 @@ class Robot private constructor(private val context: Context) {
         onRequestPermissionResultListeners.add(listener)
     }
 
+    fun addOnRequestPermissionResultListener(listener: OnRequestPermissionResultListener, executor: Executor) {
+        onRequestPermissionResultListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnRequestPermissionResultListener(owner: LifecycleOwner, listener: OnRequestPermissionResultListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnRequestPermissionResultListener(listener) },
+            remove = { removeOnRequestPermissionResultListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnRequestPermissionResultListener(listener: OnRequestPermissionResultListener) {
         onRequestPermissionResultListeners.remove(listener)
@@ -3103,13 +3894,36 @@ class Robot private constructor(private val context: Context) {
     @CheckResult
     @JvmOverloads
     fun getAllSequences(tags: List<String> = emptyList()): List<SequenceModel> {
-        return try {
-            (sdkService?.getAllSequences(applicationInfo.packageName, tags.filter { it != "" })
-                ?: emptyList<SequenceModel>()).map { it.compatible() }
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getAllSequences() error")
-            emptyList()
-        }
+        val filteredTags = tags.filter { it != "" }
+        val sequences = singleFlight.run(QUERY_ALL_SEQUENCES to filteredTags) {
+            try {
+                sdkService?.getAllSequences(applicationInfo.packageName, filteredTags)
+                    ?.map { it.compatible() }
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getAllSequences() error")
+                null
+            }
+        } ?: return emptyList()
+        return ArrayList(sequences)
+    }
+
+    /**
+     * Same as [getAllSequences], read one page at a time, see [getAllContactsPaged].
+     */
+    @WorkerThread
+    @CheckResult
+    @JvmOverloads
+    fun getAllSequencesPaged(
+        tags: List<String> = emptyList(),
+        pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE
+    ): Sequence<SequenceModel> {
+        return PagedQuery(
+            context.contentResolver,
+            SdkConstants.PROVIDER_PATH_SEQUENCES,
+            SequenceModel::class.java,
+            tagsParameter(tags),
+            transform = { it.compatible() }
+        ) { getAllSequences(tags) }.asSequence(pageSize)
     }
 
     /**
@@ -3163,6 +3977,31 @@ class Robot private constructor(private val context: Context) {
         }
     }
 
+    /**
+     * Same as [getAllTours], read one page at a time, see [getAllContactsPaged].
+     */
+    @WorkerThread
+    @CheckResult
+    @JvmOverloads
+    fun getAllToursPaged(
+        tags: List<String> = emptyList(),
+        pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE
+    ): Sequence<TourModel> {
+        return PagedQuery(
+            context.contentResolver,
+            SdkConstants.PROVIDER_PATH_TOURS,
+            TourModel::class.java,
+            tagsParameter(tags),
+            transform = { it.compatible() }
+        ) { getAllTours(tags) }.asSequence(pageSize)
+    }
+
+    private fun tagsParameter(tags: List<String>): Map<String, String> {
+        val filtered = tags.filter { it != "" }
+        if (filtered.isEmpty()) return emptyMap()
+        return mapOf(SdkConstants.PROVIDER_PARAMETER_TAGS to filtered.joinToString(","))
+    }
+
     /**
      * Play tour by tour ID. Require [Permission.SEQUENCE]
      *
@@ -3182,6 +4021,19 @@ class Robot private constructor(private val context: Context) {
         onSequencePlayStatusChangedListeners.add(listener)
     }
 
+    fun addOnSequencePlayStatusChangedListener(listener: OnSequencePlayStatusChangedListener, executor: Executor) {
+        onSequencePlayStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnSequencePlayStatusChangedListener(owner: LifecycleOwner, listener: OnSequencePlayStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnSequencePlayStatusChangedListener(listener) },
+            remove = { removeOnSequencePlayStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnSequencePlayStatusChangedListener(listener: OnSequencePlayStatusChangedListener) {
         onSequencePlayStatusChangedListeners.remove(listener)
@@ -3281,12 +4133,15 @@ class Robot private constructor(private val context: Context) {
      */
     @WorkerThread
     fun getMapList(): List<MapModel> {
-        try {
-            return sdkService?.getMapList(applicationInfo.packageName) ?: emptyList()
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getMapList() error")
-        }
-        return emptyList()
+        val maps = singleFlight.run(QUERY_MAP_LIST) {
+            try {
+                sdkService?.getMapList(applicationInfo.packageName)
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getMapList() error")
+                null
+            }
+        } ?: return emptyList()
+        return ArrayList(maps)
     }
 
     /**
@@ -3377,21 +4232,26 @@ class Robot private constructor(private val context: Context) {
     }
 
     fun getCurrentFloor(): Floor? {
-        return try {
-            sdkService?.getCurrentFloor(applicationInfo.packageName)
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getCurrentFloor() error")
-            null
+        return stateCache.currentFloor.get {
+            try {
+                sdkService?.getCurrentFloor(applicationInfo.packageName)
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getCurrentFloor() error")
+                null
+            }
         }
     }
 
     fun getAllFloors(): List<Floor> {
-        return try {
-            sdkService?.getAllFloors(applicationInfo.packageName) ?: emptyList()
-        } catch (e: RemoteException) {
-            Log.e(TAG, "getAllFloors() error")
-            emptyList()
-        }
+        val floors = singleFlight.run(QUERY_ALL_FLOORS) {
+            try {
+                sdkService?.getAllFloors(applicationInfo.packageName)
+            } catch (e: RemoteException) {
+                Log.e(TAG, "getAllFloors() error")
+                null
+            }
+        } ?: return emptyList()
+        return ArrayList(floors)
     }
 
     fun loadFloor(floorId: Int, position: Position) {
@@ -3400,6 +4260,7 @@ class Robot private constructor(private val context: Context) {
         } catch (e: RemoteException) {
             Log.e(TAG, "loadFloor() error")
         }
+        stateCache.currentFloor.invalidate()
     }
 
     /**
@@ -3453,6 +4314,8 @@ class Robot private constructor(private val context: Context) {
             return resp
         } catch (e: RemoteException) {
             Log.e(TAG, "finishMapping() error")
+        } finally {
+            singleFlight.forget(QUERY_MAP_LIST)
         }
         return 0
     }
@@ -3476,6 +4339,8 @@ class Robot private constructor(private val context: Context) {
             return resp
         } catch (e: RemoteException) {
             Log.e(TAG, "updateMapName() error")
+        } finally {
+            singleFlight.forget(QUERY_MAP_LIST)
         }
         return 0
     }
@@ -3565,6 +4430,19 @@ class Robot private constructor(private val context: Context) {
         onLoadMapStatusChangedListeners.add(listener)
     }
 
+    fun addOnLoadMapStatusChangedListener(listener: OnLoadMapStatusChangedListener, executor: Executor) {
+        onLoadMapStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnLoadMapStatusChangedListener(owner: LifecycleOwner, listener: OnLoadMapStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnLoadMapStatusChangedListener(listener) },
+            remove = { removeOnLoadMapStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnLoadMapStatusChangedListener(listener: OnLoadMapStatusChangedListener) {
         onLoadMapStatusChangedListeners.remove(listener)
@@ -3575,6 +4453,19 @@ class Robot private constructor(private val context: Context) {
         onLoadFloorStatusChangedListeners.add(listener)
     }
 
+    fun addOnLoadFloorStatusChangedListener(listener: OnLoadFloorStatusChangedListener, executor: Executor) {
+        onLoadFloorStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnLoadFloorStatusChangedListener(owner: LifecycleOwner, listener: OnLoadFloorStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnLoadFloorStatusChangedListener(listener) },
+            remove = { removeOnLoadFloorStatusChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnLoadFloorStatusChangedListener(listener: OnLoadFloorStatusChangedListener) {
         onLoadFloorStatusChangedListeners.remove(listener)
@@ -3615,6 +4506,19 @@ class Robot private constructor(private val context: Context) {
         onFaceRecognizedListeners.add(listener)
     }
 
+    fun addOnFaceRecognizedListener(listener: OnFaceRecognizedListener, executor: Executor) {
+        onFaceRecognizedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnFaceRecognizedListener(owner: LifecycleOwner, listener: OnFaceRecognizedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnFaceRecognizedListener(listener) },
+            remove = { removeOnFaceRecognizedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnFaceRecognizedListener(listener: OnFaceRecognizedListener) {
         onFaceRecognizedListeners.remove(listener)
@@ -3625,6 +4529,19 @@ class Robot private constructor(private val context: Context) {
         onContinuousFaceRecognizedListeners.add(listener)
     }
 
+    fun addOnContinuousFaceRecognizedListener(listener: OnContinuousFaceRecognizedListener, executor: Executor) {
+        onContinuousFaceRecognizedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnContinuousFaceRecognizedListener(owner: LifecycleOwner, listener: OnContinuousFaceRecognizedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnContinuousFaceRecognizedListener(listener) },
+            remove = { removeOnContinuousFaceRecognizedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnContinuousFaceRecognizedListener(listener: OnContinuousFaceRecognizedListener) {
         onContinuousFaceRecognizedListeners.remove(listener)
@@ -3653,6 +4570,19 @@ class Robot private constructor(private val context: Context) {
         onSerialRawDataListeners.add(listener)
     }
 
+    fun addOnSerialRawDataListener(listener: OnSerialRawDataListener, executor: Executor) {
+        onSerialRawDataListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnSerialRawDataListener(owner: LifecycleOwner, listener: OnSerialRawDataListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnSerialRawDataListener(listener) },
+            remove = { removeOnSerialRawDataListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnSerialRawDataListener(listener: OnSerialRawDataListener) {
         onSerialRawDataListeners.remove(listener)
@@ -3663,6 +4593,19 @@ class Robot private constructor(private val context: Context) {
         onRobotDragStateChangedListeners.add(listener)
     }
 
+    fun addOnRobotDragStateChangedListener(listener: OnRobotDragStateChangedListener, executor: Executor) {
+        onRobotDragStateChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnRobotDragStateChangedListener(owner: LifecycleOwner, listener: OnRobotDragStateChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnRobotDragStateChangedListener(listener) },
+            remove = { removeOnRobotDragStateChangedListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnRobotDragStateChangedListener(listener: OnRobotDragStateChangedListener) {
         onRobotDragStateChangedListeners.remove(listener)
@@ -3791,6 +4734,19 @@ class Robot private constructor(private val context: Context) {
         onSdkExceptionListeners.add(listener)
     }
 
+    fun addOnSdkExceptionListener(listener: OnSdkExceptionListener, executor: Executor) {
+        onSdkExceptionListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnSdkExceptionListener(owner: LifecycleOwner, listener: OnSdkExceptionListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnSdkExceptionListener(listener) },
+            remove = { removeOnSdkExceptionListener(listener) }
+        )
+    }
+
     @UiThread
     fun removeOnSdkExceptionListener(listener: OnSdkExceptionListener) {
         onSdkExceptionListeners.remove(listener)
@@ -3800,6 +4756,19 @@ class Robot private constructor(private val context: Context) {
         onButtonStatusChangedListeners.add(listener)
     }
 
+    fun addOnButtonStatusChangedListener(listener: OnButtonStatusChangedListener, executor: Executor) {
+        onButtonStatusChangedListeners.add(listener, executor)
+    }
+
+    @UiThread
+    fun addOnButtonStatusChangedListener(owner: LifecycleOwner, listener: OnButtonStatusChangedListener) {
+        RemoveOnDestroy.bind(
+            owner,
+            add = { addOnButtonStatusChangedListener(listener) },
+            remove = { removeOnButtonStatusChangedListener(listener) }
+        )
+    }
+
     fun removeOnButtonStatusChangedListener(listener: OnButtonStatusChangedListener) {
         onButtonStatusChangedListeners.remove(listener)
     }
@@ -3852,6 +4821,21 @@ class Robot private constructor(private val context: Context) {
 
         private const val TAG = "Robot"
 
+        private const val QUERY_LOCATIONS = "getLocations"
+
+        private const val QUERY_MAP_LIST = "getMapList"
+
+        private const val QUERY_ALL_FLOORS = "getAllFloors"
+
+        private const val QUERY_ALL_SEQUENCES = "getAllSequences"
+
+        /**
+         * Runs the callbacks on the calling thread, which for events is the binder thread.
+         * Listeners added with it must be thread safe and return quickly.
+         */
+        @JvmField
+        val DIRECT_EXECUTOR = Executor { it.run() }
+
         @SuppressLint("StaticFieldLeak")
         @Volatile
         private var instance: Robot? = null
@@ -3864,11 +4848,20 @@ class Robot private constructor(private val context: Context) {
                         val context = TemiSdkContentProvider.sdkContext
                             ?: throw NullPointerException("context == null")
                         instance = Robot(context)
+                        TemiSdkContentProvider.onRobotCreated()
                     }
                 }
             }
             return instance!!
         }
+
+        /**
+         * A new instance, not connected to temi and apart from [getInstance],
+         * for tests connecting it to the fake service of the sdk-testing artifact.
+         */
+        @RestrictTo(LIBRARY_GROUP)
+        @JvmStatic
+        fun newInstanceForTesting(context: Context): Robot = Robot(context)
     }
 
     private class GsonUTCDateAdapter : JsonSerializer<Date>,
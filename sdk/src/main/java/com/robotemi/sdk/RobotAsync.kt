@@ -0,0 +1,366 @@
+package com.robotemi.sdk
+
+import android.os.Handler
+import android.os.Looper
+import com.robotemi.sdk.map.Floor
+import com.robotemi.sdk.map.MapDataModel
+import com.robotemi.sdk.map.MapModel
+import com.robotemi.sdk.model.MemberStatusModel
+import com.robotemi.sdk.model.RecentCallModel
+import com.robotemi.sdk.navigation.model.SafetyLevel
+import com.robotemi.sdk.sequence.SequenceModel
+import com.robotemi.sdk.paging.PagedQuery
+import com.robotemi.sdk.tourguide.TourModel
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.suspendCancellableCoroutine
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
+
+/**
+ * Non-blocking variants of the [Robot] getters which ask temi's service, see [Robot.async].
+ *
+ * Calls run on a pool owned by the SDK, of [MAX_THREADS] threads and up to [MAX_QUEUED]
+ * waiting calls. Beyond that a call fails with [RejectedExecutionException] rather than piling up.
+ *
+ * Each getter comes as a suspend function, and as a `...Async` function returning a [Future]
+ * with an optional [Callback], called on the main thread unless an [Executor] is given.
+ * A call not answered within [timeoutMillis] fails with a [TimeoutException],
+ * and a cancelled one stops waiting right away, even if temi has not answered yet.
+ *
+ * Other getters can be wrapped with [call] and [submit].
+ */
+class RobotAsync internal constructor(private val robot: Robot) {
+
+    interface Callback<T> {
+
+        fun onResult(result: T)
+
+        /**
+         * @param error [TimeoutException] if temi did not answer in time,
+         * [RejectedExecutionException] if too many calls are waiting.
+         */
+        fun onError(error: Throwable)
+    }
+
+    private val threadCount = AtomicInteger()
+
+    private val executor = ThreadPoolExecutor(
+        MAX_THREADS, MAX_THREADS, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+        LinkedBlockingQueue(MAX_QUEUED),
+        ThreadFactory { Thread(it, "temi-sdk-async-${threadCount.incrementAndGet()}") }
+    ).apply { allowCoreThreadTimeOut(true) }
+
+    /**
+     * Fails calls past [timeoutMillis], off the main thread, which may be the one stalled.
+     */
+    private val timeouts = ScheduledThreadPoolExecutor(
+        1, ThreadFactory { Thread(it, "temi-sdk-async-timeout").apply { isDaemon = true } }
+    ).apply {
+        removeOnCancelPolicy = true
+        setKeepAliveTime(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        allowCoreThreadTimeOut(true)
+    }
+
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    private val mainExecutor = Executor { mainHandler.post(it) }
+
+    /**
+     * Time to wait for temi's answer, 0 to wait without limit. Defaults to 5000.
+     */
+    @Volatile
+    var timeoutMillis = DEFAULT_TIMEOUT_MILLIS
+
+    /**
+     * Run [block] on the SDK's pool and suspend until it returns.
+     */
+    suspend fun <T> call(block: (Robot) -> T): T {
+        return suspendCancellableCoroutine { continuation ->
+            val call = Call(block, object : Callback<T> {
+                override fun onResult(result: T) {
+                    continuation.resume(result)
+                }
+
+                override fun onError(error: Throwable) {
+                    continuation.resumeWithException(error)
+                }
+            }, Robot.DIRECT_EXECUTOR)
+            continuation.invokeOnCancellation { call.cancel(true) }
+            call.start()
+        }
+    }
+
+    /**
+     * Run [block] on the SDK's pool.
+     *
+     * @param callback Not called if the returned [Future] is cancelled.
+     * @param executor Executor of [callback], the main thread if `null`.
+     */
+    @JvmOverloads
+    fun <T> submit(
+        callback: Callback<T>? = null,
+        executor: Executor? = null,
+        block: (Robot) -> T
+    ): Future<T> {
+        return Call(block, callback, executor ?: mainExecutor).apply { start() }
+    }
+
+    /*****************************************/
+    /*              Navigation               */
+    /*****************************************/
+
+    suspend fun getLocations(): List<String> = call { it.locations }
+
+    @JvmOverloads
+    fun getLocationsAsync(
+        callback: Callback<List<String>>? = null,
+        executor: Executor? = null
+    ): Future<List<String>> = submit(callback, executor) { it.locations }
+
+    suspend fun getNavigationSafety(): SafetyLevel = call { it.navigationSafety }
+
+    @JvmOverloads
+    fun getNavigationSafetyAsync(
+        callback: Callback<SafetyLevel>? = null,
+        executor: Executor? = null
+    ): Future<SafetyLevel> = submit(callback, executor) { it.navigationSafety }
+
+    /*****************************************/
+    /*                  Map                  */
+    /*****************************************/
+
+    suspend fun getMapList(): List<MapModel> = call { it.getMapList() }
+
+    @JvmOverloads
+    fun getMapListAsync(
+        callback: Callback<List<MapModel>>? = null,
+        executor: Executor? = null
+    ): Future<List<MapModel>> = submit(callback, executor) { it.getMapList() }
+
+    suspend fun getMapData(): MapDataModel? = call { it.getMapData() }
+
+    @JvmOverloads
+    fun getMapDataAsync(
+        callback: Callback<MapDataModel?>? = null,
+        executor: Executor? = null
+    ): Future<MapDataModel?> = submit(callback, executor) { it.getMapData() }
+
+    suspend fun getAllFloors(): List<Floor> = call { it.getAllFloors() }
+
+    @JvmOverloads
+    fun getAllFloorsAsync(
+        callback: Callback<List<Floor>>? = null,
+        executor: Executor? = null
+    ): Future<List<Floor>> = submit(callback, executor) { it.getAllFloors() }
+
+    /*****************************************/
+    /*             Telepresence              */
+    /*****************************************/
+
+    suspend fun getAllContacts(): List<UserInfo> = call { it.allContact }
+
+    @JvmOverloads
+    fun getAllContactsAsync(
+        callback: Callback<List<UserInfo>>? = null,
+        executor: Executor? = null
+    ): Future<List<UserInfo>> = submit(callback, executor) { it.allContact }
+
+    suspend fun getRecentCalls(): List<RecentCallModel> = call { it.recentCalls }
+
+    @JvmOverloads
+    fun getRecentCallsAsync(
+        callback: Callback<List<RecentCallModel>>? = null,
+        executor: Executor? = null
+    ): Future<List<RecentCallModel>> = submit(callback, executor) { it.recentCalls }
+
+    suspend fun getMembersStatus(): List<MemberStatusModel> = call { it.membersStatus }
+
+    @JvmOverloads
+    fun getMembersStatusAsync(
+        callback: Callback<List<MemberStatusModel>>? = null,
+        executor: Executor? = null
+    ): Future<List<MemberStatusModel>> = submit(callback, executor) { it.membersStatus }
+
+    /*****************************************/
+    /*               Sequence                */
+    /*****************************************/
+
+    suspend fun getAllSequences(tags: List<String> = emptyList()): List<SequenceModel> =
+        call { it.getAllSequences(tags) }
+
+    @JvmOverloads
+    fun getAllSequencesAsync(
+        tags: List<String> = emptyList(),
+        callback: Callback<List<SequenceModel>>? = null,
+        executor: Executor? = null
+    ): Future<List<SequenceModel>> = submit(callback, executor) { it.getAllSequences(tags) }
+
+    /*****************************************/
+    /*                System                 */
+    /*****************************************/
+
+    suspend fun getVolume(): Int = call { it.volume }
+
+    @JvmOverloads
+    fun getVolumeAsync(
+        callback: Callback<Int>? = null,
+        executor: Executor? = null
+    ): Future<Int> = submit(callback, executor) { it.volume }
+
+    suspend fun getSerialNumber(): String? = call { it.serialNumber }
+
+    @JvmOverloads
+    fun getSerialNumberAsync(
+        callback: Callback<String?>? = null,
+        executor: Executor? = null
+    ): Future<String?> = submit(callback, executor) { it.serialNumber }
+
+    suspend fun getNickName(): String = call { it.getNickName() }
+
+    @JvmOverloads
+    fun getNickNameAsync(
+        callback: Callback<String>? = null,
+        executor: Executor? = null
+    ): Future<String> = submit(callback, executor) { it.getNickName() }
+
+    suspend fun getSettingsSnapshot(): SettingsSnapshot = call { it.getSettingsSnapshot() }
+
+    @JvmOverloads
+    fun getSettingsSnapshotAsync(
+        callback: Callback<SettingsSnapshot>? = null,
+        executor: Executor? = null
+    ): Future<SettingsSnapshot> = submit(callback, executor) { it.getSettingsSnapshot() }
+
+    /*****************************************/
+    /*              Paged lists              */
+    /*****************************************/
+
+    /**
+     * Items of [Robot.getAllContactsPaged], read one page at a time on [Dispatchers.IO]
+     * as they are collected. The flow fails with [IllegalStateException] if a page after the first fails.
+     */
+    fun getAllContactsFlow(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Flow<UserInfo> =
+        paged { it.getAllContactsPaged(pageSize) }
+
+    fun getRecentCallsFlow(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Flow<RecentCallModel> =
+        paged { it.getRecentCallsPaged(pageSize) }
+
+    fun getMembersStatusFlow(pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE): Flow<MemberStatusModel> =
+        paged { it.getMembersStatusPaged(pageSize) }
+
+    fun getAllSequencesFlow(
+        tags: List<String> = emptyList(),
+        pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE
+    ): Flow<SequenceModel> = paged { it.getAllSequencesPaged(tags, pageSize) }
+
+    fun getAllToursFlow(
+        tags: List<String> = emptyList(),
+        pageSize: Int = PagedQuery.DEFAULT_PAGE_SIZE
+    ): Flow<TourModel> = paged { it.getAllToursPaged(tags, pageSize) }
+
+    private fun <T> paged(sequence: (Robot) -> Sequence<T>): Flow<T> =
+        sequence(robot).asFlow().flowOn(Dispatchers.IO)
+
+    /**
+     * Run [task] on the SDK's pool, for calls made in parallel by the SDK itself.
+     *
+     * @throws RejectedExecutionException if too many calls are waiting.
+     */
+    internal fun execute(task: Runnable) {
+        executor.execute(task)
+    }
+
+    /**
+     * One call on the pool, failed when rejected or after [timeoutMillis].
+     */
+    private inner class Call<T>(
+        block: (Robot) -> T,
+        private val callback: Callback<T>?,
+        private val callbackExecutor: Executor
+    ) : FutureTask<T>(Callable { block(robot) }) {
+
+        private val runnerLock = Any()
+
+        /**
+         * Thread running the call, to interrupt on timeout, guarded by [runnerLock].
+         */
+        private var runner: Thread? = null
+
+        @Volatile
+        private var timeoutTask: ScheduledFuture<*>? = null
+
+        private val timeout = Runnable {
+            if (isDone) return@Runnable
+            // Completed first, so that get() throws the same TimeoutException as the callback gets.
+            setException(TimeoutException("No answer from temi in $timeoutMillis ms"))
+            synchronized(runnerLock) { runner?.interrupt() }
+        }
+
+        override fun run() {
+            synchronized(runnerLock) { runner = Thread.currentThread() }
+            try {
+                super.run()
+            } finally {
+                synchronized(runnerLock) { runner = null }
+                // The thread goes on with other calls, without an interrupt meant for this one.
+                Thread.interrupted()
+            }
+        }
+
+        fun start() {
+            try {
+                executor.execute(this)
+            } catch (e: RejectedExecutionException) {
+                setException(e)
+                return
+            }
+            val millis = timeoutMillis
+            if (millis <= 0) return
+            val task = timeouts.schedule(timeout, millis, TimeUnit.MILLISECONDS)
+            timeoutTask = task
+            if (isDone) task.cancel(false)
+        }
+
+        override fun done() {
+            timeoutTask?.cancel(false)
+            if (isCancelled) return
+            val result = try {
+                get()
+            } catch (e: ExecutionException) {
+                fail(e.cause ?: e)
+                return
+            }
+            callback ?: return
+            callbackExecutor.execute { callback.onResult(result) }
+        }
+
+        private fun fail(error: Throwable) {
+            callback ?: return
+            callbackExecutor.execute { callback.onError(error) }
+        }
+    }
+
+    companion object {
+        const val MAX_THREADS = 4
+        const val MAX_QUEUED = 64
+        const val DEFAULT_TIMEOUT_MILLIS = 5000L
+        private const val IDLE_TIMEOUT_SECONDS = 30L
+    }
+}
@@ -0,0 +1,208 @@
+package com.robotemi.sdk
+
+import com.robotemi.sdk.listeners.OnBatteryStatusChangedListener
+import com.robotemi.sdk.listeners.OnDetectionStateChangedListener
+import com.robotemi.sdk.listeners.OnGoToLocationStatusChangedListener
+import com.robotemi.sdk.listeners.OnPrivacyModeChangedListener
+import com.robotemi.sdk.listeners.OnSerialRawDataListener
+import com.robotemi.sdk.map.OnLoadFloorStatusChangedListener
+import com.robotemi.sdk.navigation.listener.OnCurrentPositionChangedListener
+import com.robotemi.sdk.navigation.model.Position
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.ProducerScope
+import kotlinx.coroutines.channels.awaitClose
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.callbackFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.shareIn
+import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.isActive
+import java.io.Closeable
+
+/**
+ * Robot events as Kotlin flows, see [Robot.events].
+ *
+ * State-like events are [StateFlow]s holding the latest value, `null` until it is known,
+ * and reset to `null` when their last collector leaves, so a later collector is never
+ * handed a value from before it came.
+ * Discrete events are [SharedFlow]s with a bounded buffer; when a collector falls behind
+ * the oldest buffered events are dropped.
+ *
+ * A listener is registered on [Robot] only while a flow has collectors,
+ * and its callbacks are received on the binder thread, never on the main thread.
+ *
+ * Flows are shared in a scope of this instance until [close]d.
+ */
+class RobotEvents internal constructor(private val robot: Robot) : Closeable {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    val isClosed: Boolean
+        get() = !scope.isActive
+
+    /**
+     * Stop sharing the flows and remove their listeners. Flows of this instance
+     * then get no more values, collect the ones of [Robot.events], a new instance, instead.
+     */
+    override fun close() {
+        scope.cancel()
+    }
+
+    /*****************************************/
+    /*                 State                 */
+    /*****************************************/
+
+    val batteryStatus: StateFlow<BatteryData?> = stateFlow { producer ->
+        producer.trySend(robot.batteryData)
+        val listener = object : OnBatteryStatusChangedListener {
+            override fun onBatteryStatusChanged(batteryData: BatteryData?) {
+                producer.trySend(batteryData)
+            }
+        }
+        robot.addOnBatteryStatusChangedListener(listener, Robot.DIRECT_EXECUTOR)
+        return@stateFlow { robot.removeOnBatteryStatusChangedListener(listener) }
+    }
+
+    val currentPosition: StateFlow<Position?> = stateFlow { producer ->
+        // The current position is delivered right after the listener is added.
+        val listener = object : OnCurrentPositionChangedListener {
+            override fun onCurrentPositionChanged(position: Position) {
+                producer.trySend(position)
+            }
+        }
+        robot.addOnCurrentPositionChangedListener(listener, Robot.DIRECT_EXECUTOR)
+        return@stateFlow { robot.removeOnCurrentPositionChangedListener(listener) }
+    }
+
+    val privacyMode: StateFlow<Boolean?> = stateFlow { producer ->
+        producer.trySend(robot.privacyMode)
+        val listener = object : OnPrivacyModeChangedListener {
+            override fun onPrivacyModeChanged(state: Boolean) {
+                producer.trySend(state)
+            }
+        }
+        robot.addOnPrivacyModeStateChangedListener(listener, Robot.DIRECT_EXECUTOR)
+        return@stateFlow { robot.removeOnPrivacyModeStateChangedListener(listener) }
+    }
+
+    /**
+     * See [OnDetectionStateChangedListener] for the values.
+     */
+    val detectionState: StateFlow<Int?> = stateFlow { producer ->
+        val listener = object : OnDetectionStateChangedListener {
+            override fun onDetectionStateChanged(state: Int) {
+                producer.trySend(state)
+            }
+        }
+        robot.addOnDetectionStateChangedListener(listener, Robot.DIRECT_EXECUTOR)
+        return@stateFlow { robot.removeOnDetectionStateChangedListener(listener) }
+    }
+
+    /**
+     * See [OnLoadFloorStatusChangedListener] for the values.
+     */
+    val loadFloorStatus: StateFlow<Int?> = stateFlow { producer ->
+        val listener = object : OnLoadFloorStatusChangedListener {
+            override fun onLoadFloorStatusChanged(status: Int) {
+                producer.trySend(status)
+            }
+        }
+        robot.addOnLoadFloorStatusChangedListener(listener, Robot.DIRECT_EXECUTOR)
+        return@stateFlow { robot.removeOnLoadFloorStatusChangedListener(listener) }
+    }
+
+    /*****************************************/
+    /*                Discrete               */
+    /*****************************************/
+
+    val asrResults: SharedFlow<AsrResult> = sharedFlow(DISCRETE_EVENT_BUFFER) { producer ->
+        val listener = object : Robot.AsrListener {
+            override fun onAsrResult(asrResult: String, sttLanguage: SttLanguage) {
+                producer.trySend(AsrResult(asrResult, sttLanguage))
+            }
+        }
+        robot.addAsrListener(listener, Robot.DIRECT_EXECUTOR)
+        return@sharedFlow { robot.removeAsrListener(listener) }
+    }
+
+    val nlpResults: SharedFlow<NlpResult> = sharedFlow(DISCRETE_EVENT_BUFFER) { producer ->
+        val listener = object : Robot.NlpListener {
+            override fun onNlpCompleted(nlpResult: NlpResult) {
+                producer.trySend(nlpResult)
+            }
+        }
+        robot.addNlpListener(listener, Robot.DIRECT_EXECUTOR)
+        return@sharedFlow { robot.removeNlpListener(listener) }
+    }
+
+    val goToLocationStatus: SharedFlow<GoToLocationStatus> =
+        sharedFlow(DISCRETE_EVENT_BUFFER) { producer ->
+            val listener = object : OnGoToLocationStatusChangedListener {
+                override fun onGoToLocationStatusChanged(
+                    location: String,
+                    status: String,
+                    descriptionId: Int,
+                    description: String
+                ) {
+                    producer.trySend(GoToLocationStatus(location, status, descriptionId, description))
+                }
+            }
+            robot.addOnGoToLocationStatusChangedListener(listener, Robot.DIRECT_EXECUTOR)
+            return@sharedFlow { robot.removeOnGoToLocationStatusChangedListener(listener) }
+        }
+
+    /**
+     * Raw serial frames, see [OnSerialRawDataListener].
+     */
+    val serialData: SharedFlow<ByteArray> = sharedFlow(SERIAL_DATA_BUFFER) { producer ->
+        val listener = object : OnSerialRawDataListener {
+            override fun onSerialRawData(data: ByteArray) {
+                producer.trySend(data)
+            }
+        }
+        robot.addOnSerialRawDataListener(listener, Robot.DIRECT_EXECUTOR)
+        return@sharedFlow { robot.removeOnSerialRawDataListener(listener) }
+    }
+
+    data class AsrResult(val text: String, val language: SttLanguage)
+
+    data class GoToLocationStatus(
+        val location: String,
+        val status: String,
+        val descriptionId: Int,
+        val description: String
+    )
+
+    /**
+     * @param register registers a listener feeding the producer, and returns how to remove it.
+     */
+    private fun <T> stateFlow(register: (ProducerScope<T>) -> () -> Unit): StateFlow<T?> {
+        return callbackFlow<T?> {
+            val unregister = register(this)
+            awaitClose(unregister)
+        }.conflate().stateIn(scope, SharingStarted.WhileSubscribed(replayExpirationMillis = 0), null)
+    }
+
+    private fun <T> sharedFlow(
+        capacity: Int,
+        register: (ProducerScope<T>) -> () -> Unit
+    ): SharedFlow<T> {
+        return callbackFlow<T> {
+            val unregister = register(this)
+            awaitClose(unregister)
+        }.buffer(capacity, BufferOverflow.DROP_OLDEST)
+            .shareIn(scope, SharingStarted.WhileSubscribed())
+    }
+
+    private companion object {
+        const val DISCRETE_EVENT_BUFFER = 64
+        const val SERIAL_DATA_BUFFER = 256
+    }
+}
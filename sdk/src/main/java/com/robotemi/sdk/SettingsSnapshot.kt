@@ -0,0 +1,153 @@
+package com.robotemi.sdk
+
+import android.os.Bundle
+import com.robotemi.sdk.constants.CliffSensorMode
+import com.robotemi.sdk.constants.SensitivityLevel
+import com.robotemi.sdk.navigation.model.SafetyLevel
+import com.robotemi.sdk.navigation.model.SpeedLevel
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.FutureTask
+import java.util.concurrent.RejectedExecutionException
+
+/**
+ * Settings of temi read at once, see [Robot.getSettingsSnapshot].
+ *
+ * Each property holds the value its [Robot] getter of the same name returned at that time.
+ */
+data class SettingsSnapshot(
+    val volume: Int,
+    val privacyMode: Boolean,
+    val detectionModeOn: Boolean,
+    val trackUserOn: Boolean,
+    val autoReturnOn: Boolean,
+    val topBadgeEnabled: Boolean,
+    val navigationSafety: SafetyLevel,
+    val goToSpeed: SpeedLevel,
+    val followSpeed: SpeedLevel,
+    val cliffSensorMode: CliffSensorMode,
+    val headDepthSensitivity: SensitivityLevel,
+    val frontTOFEnabled: Boolean,
+    val backTOFEnabled: Boolean,
+    val minimumObstacleDistance: Int,
+    val kioskModeOn: Boolean,
+) {
+
+    /**
+     * Keys of the [Bundle] answered by temi, holding the same values as the matching
+     * [com.robotemi.sdk.ISdkService] getters.
+     */
+    companion object {
+        const val KEY_VOLUME = "volume"
+        const val KEY_PRIVACY_MODE = "privacyMode"
+        const val KEY_DETECTION_MODE_ON = "detectionModeOn"
+        const val KEY_TRACK_USER_ON = "trackUserOn"
+        const val KEY_AUTO_RETURN_ON = "autoReturnOn"
+        const val KEY_TOP_BADGE_ENABLED = "topBadgeEnabled"
+        const val KEY_NAVIGATION_SAFETY = "navigationSafety"
+        const val KEY_GO_TO_SPEED = "goToSpeed"
+        const val KEY_FOLLOW_SPEED = "followSpeed"
+        const val KEY_CLIFF_SENSOR_MODE = "cliffSensorMode"
+        const val KEY_HEAD_DEPTH_SENSITIVITY = "headDepthSensitivity"
+        const val KEY_FRONT_TOF_ENABLED = "frontTOFEnabled"
+        const val KEY_BACK_TOF_ENABLED = "backTOFEnabled"
+        const val KEY_MINIMUM_OBSTACLE_DISTANCE = "minimumObstacleDistance"
+        const val KEY_KIOSK_MODE_ON = "kioskModeOn"
+
+        /**
+         * Build a snapshot from [bundle], reading the values it lacks with the getters of [robot],
+         * all of them in parallel on [executor] and the calling thread.
+         *
+         * @param bundle `null` if temi does not support snapshots.
+         */
+        internal fun read(bundle: Bundle?, robot: Robot, executor: Executor): SettingsSnapshot {
+            val fields = Fields(bundle ?: Bundle.EMPTY, executor)
+            val volume = fields.int(KEY_VOLUME) { robot.volume }
+            val privacyMode = fields.boolean(KEY_PRIVACY_MODE) { robot.privacyMode }
+            val detectionModeOn = fields.boolean(KEY_DETECTION_MODE_ON) { robot.detectionModeOn }
+            val trackUserOn = fields.boolean(KEY_TRACK_USER_ON) { robot.trackUserOn }
+            val autoReturnOn = fields.boolean(KEY_AUTO_RETURN_ON) { robot.autoReturnOn }
+            val topBadgeEnabled = fields.boolean(KEY_TOP_BADGE_ENABLED) { robot.topBadgeEnabled }
+            val navigationSafety = fields.string(KEY_NAVIGATION_SAFETY, SafetyLevel::valueToEnum) {
+                robot.navigationSafety
+            }
+            val goToSpeed = fields.string(KEY_GO_TO_SPEED, SpeedLevel::valueToEnum) {
+                robot.goToSpeed
+            }
+            val followSpeed = fields.string(KEY_FOLLOW_SPEED, SpeedLevel::valueToEnum) {
+                robot.getFollowSpeed()
+            }
+            val cliffSensorMode = fields.ordinal(KEY_CLIFF_SENSOR_MODE, CliffSensorMode.values()) {
+                robot.cliffSensorMode
+            }
+            val headDepthSensitivity =
+                fields.ordinal(KEY_HEAD_DEPTH_SENSITIVITY, SensitivityLevel.values()) {
+                    robot.headDepthSensitivity
+                }
+            val frontTOFEnabled = fields.boolean(KEY_FRONT_TOF_ENABLED) { robot.frontTOFEnabled }
+            val backTOFEnabled = fields.boolean(KEY_BACK_TOF_ENABLED) { robot.backTOFEnabled }
+            val minimumObstacleDistance = fields.int(KEY_MINIMUM_OBSTACLE_DISTANCE) {
+                robot.minimumObstacleDistance
+            }
+            val kioskModeOn = fields.boolean(KEY_KIOSK_MODE_ON) { robot.isKioskModeOn() }
+            return SettingsSnapshot(
+                volume(),
+                privacyMode(),
+                detectionModeOn(),
+                trackUserOn(),
+                autoReturnOn(),
+                topBadgeEnabled(),
+                navigationSafety(),
+                goToSpeed(),
+                followSpeed(),
+                cliffSensorMode(),
+                headDepthSensitivity(),
+                frontTOFEnabled(),
+                backTOFEnabled(),
+                minimumObstacleDistance(),
+                kioskModeOn(),
+            )
+        }
+    }
+
+    /**
+     * Reads a value from the bundle if there, or else starts fetching it and returns a function
+     * waiting for it.
+     */
+    private class Fields(private val bundle: Bundle, private val executor: Executor) {
+
+        fun int(key: String, fetch: () -> Int) =
+            field(key, { bundle.getInt(key) }, fetch)
+
+        fun boolean(key: String, fetch: () -> Boolean) =
+            field(key, { bundle.getBoolean(key) }, fetch)
+
+        fun <T> string(key: String, convert: (String) -> T, fetch: () -> T) =
+            field(key, { convert(bundle.getString(key) ?: "") }, fetch)
+
+        fun <T : Enum<T>> ordinal(key: String, values: Array<T>, fetch: () -> T) =
+            field(key, { values.getOrElse(bundle.getInt(key)) { values[0] } }, fetch)
+
+        private fun <T> field(key: String, fromBundle: () -> T, fetch: () -> T): () -> T {
+            if (bundle.containsKey(key)) {
+                val value = fromBundle()
+                return { value }
+            }
+            val task = FutureTask(fetch)
+            try {
+                executor.execute(task)
+            } catch (e: RejectedExecutionException) {
+                // Run by the calling thread below.
+            }
+            return {
+                // Does nothing if already started on the executor.
+                task.run()
+                try {
+                    task.get()
+                } catch (e: ExecutionException) {
+                    throw e.cause ?: e
+                }
+            }
+        }
+    }
+}
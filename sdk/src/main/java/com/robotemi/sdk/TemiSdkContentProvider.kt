@@ -1,22 +1,47 @@
 package com.robotemi.sdk
 
 import android.annotation.SuppressLint
+import android.app.Application
 import android.content.ContentProvider
 import android.content.ContentValues
 import android.content.Context
+import android.content.pm.PackageManager
 import android.net.Uri
+import android.os.Build
+import android.os.Bundle
+import android.os.Process
+import android.os.Trace
 import androidx.annotation.RestrictTo
 import androidx.annotation.RestrictTo.Scope.LIBRARY
+import com.robotemi.sdk.constants.SdkConstants
+import java.io.File
+import java.util.concurrent.atomic.AtomicBoolean
 
 @RestrictTo(LIBRARY)
 internal class TemiSdkContentProvider : ContentProvider() {
 
     override fun onCreate(): Boolean {
         sdkContext = context
-        if (context == null) {
-            throw NullPointerException("context=null")
+        val context = context ?: throw NullPointerException("context=null")
+        Trace.beginSection("TemiSdk.onCreate")
+        try {
+            metaData = getMetaData(context)
+            val mainProcessOnly =
+                metaData?.getBoolean(SdkConstants.METADATA_MAIN_PROCESS_ONLY, false) == true
+            val mode = if (mainProcessOnly && !isMainProcess(context)) {
+                SdkConstants.STARTUP_MODE_LAZY
+            } else {
+                metaData?.getString(SdkConstants.METADATA_STARTUP_MODE)
+            }
+            when (mode) {
+                SdkConstants.STARTUP_MODE_LAZY -> pendingConnection.set(true)
+                SdkConstants.STARTUP_MODE_BACKGROUND ->
+                    Thread({ startConnection(context) }, STARTUP_THREAD_NAME).start()
+                else -> startConnection(context)
+            }
+        } finally {
+            Trace.endSection()
         }
-        TemiSdkServiceConnection().startConnection(context!!)
         return true
     }
 
@@ -39,8 +64,53 @@ internal class TemiSdkContentProvider : ContentProvider() {
         selectionArgs: Array<String>?
     ) = 0
 
+    private fun getMetaData(context: Context): Bundle? {
+        return try {
+            context.packageManager
+                .getApplicationInfo(context.packageName, PackageManager.GET_META_DATA)
+                .metaData
+        } catch (e: PackageManager.NameNotFoundException) {
+            null
+        }
+    }
+
+    private fun isMainProcess(context: Context): Boolean {
+        val processName = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            Application.getProcessName()
+        } else {
+            try {
+                File("/proc/${Process.myPid()}/cmdline").readText().trimEnd('\u0000')
+            } catch (e: Exception) {
+                return true
+            }
+        }
+        return processName == context.applicationInfo.processName
+    }
+
     companion object {
+        private const val STARTUP_THREAD_NAME = "temi-sdk-startup"
+
         @SuppressLint("StaticFieldLeak")
         var sdkContext: Context? = null
+
+        @Volatile
+        private var metaData: Bundle? = null
+
+        /**
+         * Set with [SdkConstants.STARTUP_MODE_LAZY] until [Robot.getInstance] is first called.
+         */
+        private val pendingConnection = AtomicBoolean()
+
+        private fun startConnection(context: Context) {
+            TemiSdkServiceConnection().startConnection(context, metaData)
+        }
+
+        /**
+         * Called once [Robot] is created, to connect if it was deferred until then.
+         */
+        fun onRobotCreated() {
+            val context = sdkContext ?: return
+            if (pendingConnection.compareAndSet(true, false)) startConnection(context)
+        }
     }
 }
@@ -6,12 +6,17 @@ import android.content.Context
 import android.content.Intent
 import android.content.ServiceConnection
 import android.content.pm.PackageManager
+import android.os.Bundle
+import android.os.Handler
 import android.os.IBinder
+import android.os.Looper
 import android.os.Process
+import android.os.SystemClock
+import android.os.Trace
 import android.util.Log
 
+import androidx.annotation.AnyThread
 import androidx.annotation.NonNull
-import androidx.annotation.UiThread
 
 import com.robotemi.sdk.constants.SdkConstants
 
@@ -20,6 +25,15 @@ internal class TemiSdkServiceConnection {
     companion object {
         private const val TAG = "TemiSdkServiceConnection"
 
+        private const val INITIAL_RETRY_DELAY_MILLIS = 500L
+
+        private const val MAX_RETRY_DELAY_MILLIS = 30_000L
+
+        /**
+         * Time a connection has to last for the retry delay to go back to its initial value.
+         */
+        private const val STABLE_CONNECTION_MILLIS = 60_000L
+
         @SuppressLint("LongLogTag")
         private fun getSdkServiceIntent(appId: String): Intent {
             Log.d(TAG, "getSdkServiceIntent()")
@@ -31,36 +45,105 @@ internal class TemiSdkServiceConnection {
     @Volatile
     private var isLauncherExist = false
 
+    /**
+     * Rebind when disconnected instead of stopping the app, see [SdkConstants.METADATA_RECONNECT].
+     */
+    @Volatile
+    private var reconnect = false
+
+    @Volatile
+    private var context: Context? = null
+
+    /**
+     * [SystemClock.elapsedRealtime] of the last bind, for tracing the time to connect.
+     */
+    @Volatile
+    private var bindTimeMillis = 0L
+
+    private val handler = Handler(Looper.getMainLooper())
+
+    /**
+     * Doubled on each failure to bind or lost connection, until a connection stays up.
+     */
+    @Volatile
+    private var retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS
+
+    private val retry = Runnable { rebind() }
+
+    private val connectionStable = Runnable { retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS }
+
     @NonNull
     private val serviceConnection = object : ServiceConnection {
 
         @SuppressLint("LongLogTag")
         override fun onServiceConnected(name: ComponentName, service: IBinder) {
             Log.d(TAG, "onServiceConnected(ComponentName, IBinder) (name=$name, service=$service)")
+            Log.i(TAG, "Connected to temi in ${SystemClock.elapsedRealtime() - bindTimeMillis}ms")
+            handler.removeCallbacks(retry)
+            handler.postDelayed(connectionStable, STABLE_CONNECTION_MILLIS)
             val sdkService = ISdkService.Stub.asInterface(service)
-            Robot.getInstance().setSdkService(sdkService)
+            Trace.beginSection("TemiSdk.setSdkService")
+            try {
+                Robot.getInstance().setSdkService(sdkService)
+            } finally {
+                Trace.endSection()
+            }
         }
 
         @SuppressLint("LongLogTag")
         override fun onServiceDisconnected(name: ComponentName) {
             Log.d(TAG, "onServiceDisconnected(ComponentName) (name=$name)")
-            forceStop()
+            if (!reconnect) {
+                forceStop()
+                return
+            }
+            Robot.getInstance().setSdkService(null)
+            // The system usually reconnects by itself once temi restarted, rebind if it does not.
+            scheduleRetry()
+        }
+
+        @SuppressLint("LongLogTag")
+        override fun onBindingDied(name: ComponentName) {
+            Log.d(TAG, "onBindingDied(ComponentName) (name=$name)")
+            if (!reconnect) return
+            Robot.getInstance().setSdkService(null)
+            scheduleRetry()
         }
     }
 
+    /**
+     * @param metaData Meta-data of the app, see [SdkConstants.METADATA_RECONNECT].
+     */
     @SuppressLint("LongLogTag")
-    @UiThread
-    internal fun startConnection(context: Context) {
+    @AnyThread
+    internal fun startConnection(context: Context, metaData: Bundle?) {
         Log.d(TAG, "startConnection(Context)")
-        isLauncherExist = isPackageExist(context, SdkConstants.TEMI_USA) ||
-                isPackageExist(context, SdkConstants.TEMI_CHINA)
-        when {
+        Trace.beginSection("TemiSdk.startConnection")
+        try {
+            this.context = context
+            reconnect = metaData?.getBoolean(SdkConstants.METADATA_RECONNECT, false) == true
+            isLauncherExist = isPackageExist(context, SdkConstants.TEMI_USA) ||
+                    isPackageExist(context, SdkConstants.TEMI_CHINA)
+            if (!bind(context)) forceStop()
+        } finally {
+            Trace.endSection()
+        }
+    }
+
+    /**
+     * @return `false` if temi's service could not be bound.
+     */
+    @SuppressLint("LongLogTag")
+    private fun bind(context: Context): Boolean {
+        bindTimeMillis = SystemClock.elapsedRealtime()
+        return when {
             context.bindService(
                 getSdkServiceIntent(SdkConstants.TEMI_USA),
                 serviceConnection,
                 Context.BIND_AUTO_CREATE
             ) -> {
                 Log.d(TAG, "bindServiceUsa=true")
+                true
             }
             context.bindService(
                 getSdkServiceIntent(SdkConstants.TEMI_CHINA),
@@ -68,20 +151,45 @@ internal class TemiSdkServiceConnection {
                 Context.BIND_AUTO_CREATE
             ) -> {
                 Log.d(TAG, "bindServiceChina=true")
+                true
             }
             else -> {
                 Log.w(TAG, "bindService=false")
-                forceStop()
+                false
             }
         }
     }
 
+    @SuppressLint("LongLogTag")
+    private fun scheduleRetry() {
+        Log.d(TAG, "scheduleRetry() (delay=$retryDelayMillis)")
+        handler.removeCallbacks(connectionStable)
+        handler.removeCallbacks(retry)
+        handler.postDelayed(retry, retryDelayMillis)
+        retryDelayMillis = minOf(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS)
+    }
+
+    @SuppressLint("LongLogTag")
+    private fun rebind() {
+        val context = context ?: return
+        Log.d(TAG, "rebind()")
+        try {
+            context.unbindService(serviceConnection)
+        } catch (e: IllegalArgumentException) {
+            // Not bound anymore.
+        }
+        if (!bind(context) && isLauncherExist) scheduleRetry()
+    }
+
     @SuppressLint("LongLogTag")
     private fun forceStop() {
         Log.d(TAG, "forceStop()")
-        if (isLauncherExist) {
-            Process.killProcess(Process.myPid())
+        if (!isLauncherExist) return
+        if (reconnect) {
+            scheduleRetry()
+            return
         }
+        Process.killProcess(Process.myPid())
     }
 
     private fun isPackageExist(context: Context, targetPackage: String): Boolean {
@@ -0,0 +1,106 @@
+package com.robotemi.sdk.connection
+
+import android.os.SystemClock
+import android.util.Log
+import com.robotemi.sdk.ISdkService
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.util.ArrayDeque
+
+/**
+ * Stands in for temi's service while reconnecting, keeping the commands sent meanwhile
+ * to [replay] them once connected again.
+ *
+ * Only methods without a result are kept, up to [MAX_COMMANDS], the oldest dropped first.
+ * Movement commands are dropped, as the robot must not start moving seconds after asked to.
+ * Methods with a result, which cannot wait, answer at once the default value of their type,
+ * as [com.robotemi.sdk.Robot] does when not connected.
+ */
+internal class CommandBuffer {
+
+    private class Command(val method: Method, val args: Array<Any?>?, val timeMillis: Long)
+
+    private val commands = ArrayDeque<Command>()
+
+    val service: ISdkService = Proxy.newProxyInstance(
+        ISdkService::class.java.classLoader,
+        arrayOf(ISdkService::class.java),
+        InvocationHandler { proxy, method, args ->
+            when {
+                method.name == "equals" -> proxy === args?.get(0)
+                method.name == "hashCode" -> System.identityHashCode(proxy)
+                method.name == "toString" -> "CommandBuffer"
+                method.name == "asBinder" -> null
+                method.returnType != Void.TYPE -> defaultValue(method.returnType)
+                method.name in NOT_BUFFERED -> null
+                else -> {
+                    add(Command(method, args, SystemClock.elapsedRealtime()))
+                    null
+                }
+            }
+        }
+    ) as ISdkService
+
+    private fun defaultValue(type: Class<*>): Any? {
+        return when (type) {
+            java.lang.Boolean.TYPE -> false
+            Integer.TYPE -> 0
+            java.lang.Long.TYPE -> 0L
+            java.lang.Float.TYPE -> 0f
+            java.lang.Double.TYPE -> 0.0
+            String::class.java -> ""
+            List::class.java -> ArrayList<Any>()
+            else -> null
+        }
+    }
+
+    @Synchronized
+    private fun add(command: Command) {
+        if (commands.size == MAX_COMMANDS) commands.removeFirst()
+        commands.addLast(command)
+    }
+
+    /**
+     * Send the kept commands to [target] in order, except the ones older than [MAX_AGE_MILLIS].
+     */
+    fun replay(target: ISdkService) {
+        val pending = synchronized(this) {
+            ArrayList(commands).also { commands.clear() }
+        }
+        val now = SystemClock.elapsedRealtime()
+        for (command in pending) {
+            if (now - command.timeMillis > MAX_AGE_MILLIS) continue
+            try {
+                command.method.invoke(target, *(command.args ?: emptyArray()))
+            } catch (e: InvocationTargetException) {
+                Log.e(TAG, "${command.method.name}() replay error", e.targetException)
+            }
+        }
+    }
+
+    companion object {
+        const val MAX_COMMANDS = 32
+        const val MAX_AGE_MILLIS = 10_000L
+        private const val TAG = "CommandBuffer"
+
+        /**
+         * Sent again on connection anyway, or moving the robot, only meaningful at the time
+         * they were sent. A stop is still replayed.
+         */
+        private val NOT_BUFFERED = setOf(
+            "register",
+            "goTo",
+            "goToPosition",
+            "followMe",
+            "beWithMe",
+            "constraintBeWith",
+            "skidJoy",
+            "turnBy",
+            "tiltAngle",
+            "tiltBy",
+            "repose",
+        )
+    }
+}
@@ -0,0 +1,182 @@
+package com.robotemi.sdk.constants
+
+import androidx.annotation.IntDef
+
+/**
+ * Bits of the mask sent to temi by [com.robotemi.sdk.ISdkService.setEventInterest],
+ * each gating the [com.robotemi.sdk.ISdkServiceCallback] method named in its comment.
+ * The mask holds `1L shl bit` for each callback the app wants.
+ *
+ * Values are part of the protocol with temi: never change or reuse one, only add new ones.
+ */
+object EventInterest {
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onTtsStatusChanged] */
+    const val TTS_STATUS = 0
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onWakeupWord] */
+    const val WAKEUP_WORD = 1
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onNlpCompleted] */
+    const val NLP_COMPLETED = 2
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onAsrResult] */
+    const val ASR_RESULT = 3
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onConversationViewAttaches] */
+    const val CONVERSATION_VIEW_ATTACHES = 4
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onConversationStatusChanged] */
+    const val CONVERSATION_STATUS = 5
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onTtsVisualizerWaveFormDataChanged] */
+    const val TTS_VISUALIZER_WAVE_FORM = 6
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onTtsVisualizerFftDataChanged] */
+    const val TTS_VISUALIZER_FFT = 7
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onGoToLocationStatusChanged] */
+    const val GO_TO_LOCATION_STATUS = 8
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onLocationsUpdated] */
+    const val LOCATIONS_UPDATED = 9
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDistanceToLocationChanged] */
+    const val DISTANCE_TO_LOCATION = 10
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onCurrentPositionChanged] */
+    const val CURRENT_POSITION = 11
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onReposeStatusChanged] */
+    const val REPOSE_STATUS = 12
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDistanceToDestinationChanged] */
+    const val DISTANCE_TO_DESTINATION = 13
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onGoToNavPathChanged] */
+    const val GO_TO_NAV_PATH = 14
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onLoadMapStatusChanged] */
+    const val LOAD_MAP_STATUS = 15
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onLoadFloorStatusChanged] */
+    const val LOAD_FLOOR_STATUS = 16
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onBeWithMeStatusChanged] */
+    const val BE_WITH_ME_STATUS = 17
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onConstraintBeWithStatusChanged] */
+    const val CONSTRAINT_BE_WITH_STATUS = 18
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onMovementVelocityChanged] */
+    const val MOVEMENT_VELOCITY = 19
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onMovementStatusChanged] */
+    const val MOVEMENT_STATUS = 20
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onRobotLifted] */
+    const val ROBOT_LIFTED = 21
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDragStateChanged] */
+    const val ROBOT_DRAG_STATE = 22
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onTelepresenceStatusChanged] */
+    const val TELEPRESENCE_STATUS = 23
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onTelepresenceEventChanged] */
+    const val TELEPRESENCE_EVENT = 24
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onUserUpdated] */
+    const val USER_UPDATED = 25
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onUserInteractionStatusChanged] */
+    const val USER_INTERACTION = 26
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDetectionStateChanged] */
+    const val DETECTION_STATE = 27
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDetectionDataChanged] */
+    const val DETECTION_DATA = 28
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onFaceRecognized] */
+    const val FACE_RECOGNIZED = 29
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onContinuousFaceRecognized] */
+    const val CONTINUOUS_FACE_RECOGNIZED = 30
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onGreetModeStateChanged] */
+    const val GREET_MODE_STATE = 31
+
+    /** Raised by the SDK itself on connection, gates no callback of temi. */
+    const val ROBOT_READY = 32
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onBatteryStatusChanged] */
+    const val BATTERY_STATUS = 33
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onPrivacyModeStateChanged] */
+    const val PRIVACY_MODE = 34
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onRequestPermissionResult] */
+    const val REQUEST_PERMISSION_RESULT = 35
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onSequencePlayStatusChanged] */
+    const val SEQUENCE_PLAY_STATUS = 36
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onSdkError] */
+    const val SDK_EXCEPTION = 37
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onDisabledFeatureListUpdated] */
+    const val DISABLED_FEATURE_LIST = 38
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onSerialRawData] */
+    const val SERIAL_RAW_DATA = 39
+
+    /** [com.robotemi.sdk.ISdkServiceCallback.onButtonStatusChanged] */
+    const val BUTTON_STATUS = 40
+
+    @IntDef(
+        TTS_STATUS,
+        WAKEUP_WORD,
+        NLP_COMPLETED,
+        ASR_RESULT,
+        CONVERSATION_VIEW_ATTACHES,
+        CONVERSATION_STATUS,
+        TTS_VISUALIZER_WAVE_FORM,
+        TTS_VISUALIZER_FFT,
+        GO_TO_LOCATION_STATUS,
+        LOCATIONS_UPDATED,
+        DISTANCE_TO_LOCATION,
+        CURRENT_POSITION,
+        REPOSE_STATUS,
+        DISTANCE_TO_DESTINATION,
+        GO_TO_NAV_PATH,
+        LOAD_MAP_STATUS,
+        LOAD_FLOOR_STATUS,
+        BE_WITH_ME_STATUS,
+        CONSTRAINT_BE_WITH_STATUS,
+        MOVEMENT_VELOCITY,
+        MOVEMENT_STATUS,
+        ROBOT_LIFTED,
+        ROBOT_DRAG_STATE,
+        TELEPRESENCE_STATUS,
+        TELEPRESENCE_EVENT,
+        USER_UPDATED,
+        USER_INTERACTION,
+        DETECTION_STATE,
+        DETECTION_DATA,
+        FACE_RECOGNIZED,
+        CONTINUOUS_FACE_RECOGNIZED,
+        GREET_MODE_STATE,
+        ROBOT_READY,
+        BATTERY_STATUS,
+        PRIVACY_MODE,
+        REQUEST_PERMISSION_RESULT,
+        SEQUENCE_PLAY_STATUS,
+        SDK_EXCEPTION,
+        DISABLED_FEATURE_LIST,
+        SERIAL_RAW_DATA,
+        BUTTON_STATUS
+    )
+    @Retention(AnnotationRetention.SOURCE)
+    annotation class Bit
+}
@@ -27,6 +27,56 @@ object SdkConstants {
         "com.robotemi.sdk.metadata.OVERRIDE_CONVERSATION_LAYER"
     const val METADATA_PERMISSIONS = "com.robotemi.sdk.metadata.PERMISSIONS"
 
+    /**
+     * Boolean, `true` to reconnect to temi when the connection is lost, instead of stopping the app.
+     */
+    const val METADATA_RECONNECT = "com.robotemi.sdk.metadata.RECONNECT"
+
+    /**
+     * What to do with commands sent while reconnecting, [DISCONNECTED_COMMANDS_FAIL] by default
+     * or [DISCONNECTED_COMMANDS_BUFFER].
+     */
+    const val METADATA_DISCONNECTED_COMMANDS = "com.robotemi.sdk.metadata.DISCONNECTED_COMMANDS"
+
+    /**
+     * Commands sent while reconnecting do nothing, and getters return their default value at once.
+     */
+    const val DISCONNECTED_COMMANDS_FAIL = "fail"
+
+    /**
+     * Commands without a result sent while reconnecting are sent once connected again,
+     * unless older than 10 seconds. Movement commands other than a stop are dropped.
+     * Getters return their default value at once.
+     */
+    const val DISCONNECTED_COMMANDS_BUFFER = "buffer"
+
+    /**
+     * When to connect to temi, [STARTUP_MODE_EAGER] by default, [STARTUP_MODE_BACKGROUND]
+     * or [STARTUP_MODE_LAZY].
+     */
+    const val METADATA_STARTUP_MODE = "com.robotemi.sdk.metadata.STARTUP_MODE"
+
+    /**
+     * Connect on the main thread while the app starts.
+     */
+    const val STARTUP_MODE_EAGER = "eager"
+
+    /**
+     * Connect from a background thread while the app starts.
+     */
+    const val STARTUP_MODE_BACKGROUND = "background"
+
+    /**
+     * Connect on the first call to [com.robotemi.sdk.Robot.getInstance].
+     */
+    const val STARTUP_MODE_LAZY = "lazy"
+
+    /**
+     * Boolean, `true` to connect at startup in the main process only,
+     * other processes connecting on their first call to [com.robotemi.sdk.Robot.getInstance].
+     */
+    const val METADATA_MAIN_PROCESS_ONLY = "com.robotemi.sdk.metadata.MAIN_PROCESS_ONLY"
+
     /**
      * Show everything.
      * `R.integer.metadata_ui_flag_default`
@@ -82,6 +132,20 @@ object SdkConstants {
     const val PROVIDER_AUTHORITY = "com.robotemi.sdk.provider"
     const val PROVIDER_PARAMETER_MEDIA_KEY = "mediaKey"
     const val PROVIDER_PARAMETER_MAP_DATA = "mapData"
+    const val PROVIDER_PARAMETER_OFFSET = "offset"
+    const val PROVIDER_PARAMETER_LIMIT = "limit"
+    const val PROVIDER_PARAMETER_TAGS = "tags"
+    const val PROVIDER_COLUMN_ITEM = "item"
+
+    /**
+     * Cursor extra with the size of the whole paged list, same as `ContentResolver.EXTRA_TOTAL_COUNT`.
+     */
+    const val PROVIDER_EXTRA_TOTAL_COUNT = "android.content.extra.TOTAL_COUNT"
+    const val PROVIDER_PATH_CONTACTS = "contacts"
+    const val PROVIDER_PATH_RECENT_CALLS = "recentCalls"
+    const val PROVIDER_PATH_MEMBERS_STATUS = "membersStatus"
+    const val PROVIDER_PATH_SEQUENCES = "sequences"
+    const val PROVIDER_PATH_TOURS = "tours"
 
     const val LOCATION_HOME_BASE = "home base"
 
@@ -0,0 +1,12 @@
+package com.robotemi.sdk.dispatch
+
+/**
+ * Decides whether a value is delivered to one listener, see [ListenerSet.add].
+ */
+internal fun interface EventFilter {
+
+    /**
+     * Called on the dispatching thread, possibly from several binder threads.
+     */
+    fun accept(value: Any): Boolean
+}
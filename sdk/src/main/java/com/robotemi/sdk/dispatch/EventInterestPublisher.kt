@@ -0,0 +1,72 @@
+package com.robotemi.sdk.dispatch
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Sends to temi which callback types the app listens to, so the others are not sent at all.
+ *
+ * Changes are coalesced and sent from a background thread, and only when the mask changed.
+ * Launchers without support answer 0, after which nothing more is sent until [reset].
+ *
+ * @param send Sends the mask and returns the launcher's answer, `null` if not connected.
+ */
+internal class EventInterestPublisher(
+    private val registry: EventRegistry,
+    private val send: (Long) -> Int?
+) {
+
+    private val executor = ThreadPoolExecutor(
+        0, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue(),
+        ThreadFactory { Thread(it, "temi-sdk-event-interest") }
+    )
+
+    private val scheduled = AtomicBoolean()
+
+    @Volatile
+    private var supported = true
+
+    @Volatile
+    private var lastSent = NOT_SENT
+
+    /**
+     * Types wanted by the SDK itself, whether or not the app listens to them.
+     */
+    @Volatile
+    var internalMask = 0L
+        set(value) {
+            field = value
+            schedule()
+        }
+
+    /**
+     * Call on each new connection to temi.
+     */
+    fun reset() {
+        supported = true
+        lastSent = NOT_SENT
+        schedule()
+    }
+
+    fun schedule() {
+        if (!supported || !scheduled.compareAndSet(false, true)) return
+        executor.execute {
+            scheduled.set(false)
+            val mask = registry.interestMask() or internalMask
+            if (mask == lastSent) return@execute
+            when (send(mask) ?: return@execute) {
+                UNSUPPORTED -> supported = false
+                else -> lastSent = mask
+            }
+        }
+    }
+
+    private companion object {
+        const val IDLE_TIMEOUT_SECONDS = 30L
+        const val NOT_SENT = -1L
+        const val UNSUPPORTED = 0
+    }
+}
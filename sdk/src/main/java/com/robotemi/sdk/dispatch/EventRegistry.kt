@@ -0,0 +1,45 @@
+package com.robotemi.sdk.dispatch
+
+import android.os.Handler
+
+/**
+ * The listeners of [com.robotemi.sdk.Robot], one [ListenerSet] per [EventType].
+ */
+internal class EventRegistry(mainHandler: Handler) {
+
+    val watchdog = SlowListenerWatchdog()
+
+    /**
+     * Called when a type gets its first listener or loses its last one.
+     */
+    @Volatile
+    var onInterestChanged: (() -> Unit)? = null
+
+    /**
+     * Whether listeners added from now on are weakly referenced.
+     */
+    @Volatile
+    var weakReferences = false
+
+    private val sets: Array<ListenerSet<*>> =
+        Array(EventType.values.size) { ListenerSet(EventType.values[it], mainHandler, this) }
+
+    @Suppress("UNCHECKED_CAST")
+    operator fun <L : Any> get(type: EventType<L>): ListenerSet<L> = sets[type.id] as ListenerSet<L>
+
+    /**
+     * All the listener sets, in [EventType.id] order.
+     */
+    val all: List<ListenerSet<*>> = sets.asList()
+
+    /**
+     * [EventType.mask] of the types having listeners.
+     */
+    fun interestMask(): Long {
+        var mask = 0L
+        for (set in sets) {
+            if (set.isNotEmpty()) mask = mask or set.type.mask
+        }
+        return mask
+    }
+}
@@ -0,0 +1,226 @@
+package com.robotemi.sdk.dispatch
+
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.constants.EventInterest
+import com.robotemi.sdk.exception.OnSdkExceptionListener
+import com.robotemi.sdk.face.OnContinuousFaceRecognizedListener
+import com.robotemi.sdk.face.OnFaceRecognizedListener
+import com.robotemi.sdk.listeners.*
+import com.robotemi.sdk.map.OnLoadFloorStatusChangedListener
+import com.robotemi.sdk.map.OnLoadMapStatusChangedListener
+import com.robotemi.sdk.navigation.listener.OnCurrentPositionChangedListener
+import com.robotemi.sdk.navigation.listener.OnDistanceToDestinationChangedListener
+import com.robotemi.sdk.navigation.listener.OnDistanceToLocationChangedListener
+import com.robotemi.sdk.navigation.listener.OnReposeStatusChangedListener
+import com.robotemi.sdk.permission.OnRequestPermissionResultListener
+import com.robotemi.sdk.sequence.OnSequencePlayStatusChangedListener
+
+/**
+ * A callback type of [Robot], with [L] being its listener interface.
+ *
+ * @param id Index of the type in [values], used by [EventRegistry] for its storage.
+ * @param bit Bit of the type in the interest mask sent to temi, one of [EventInterest].
+ * @param name Name of the callback, e.g. `onCurrentPositionChanged`.
+ * @param conflatable Whether the callback is high frequency and may be conflated,
+ * see [ListenerSet.conflating].
+ */
+internal class EventType<L : Any> private constructor(
+    val id: Int,
+    @EventInterest.Bit val bit: Int,
+    val name: String,
+    val conflatable: Boolean
+) {
+
+    val mask: Long
+        get() = 1L shl bit
+
+    override fun toString() = name
+
+    companion object {
+
+        private val types = ArrayList<EventType<*>>()
+
+        private fun <L : Any> of(
+            @EventInterest.Bit bit: Int,
+            name: String,
+            conflatable: Boolean = false
+        ): EventType<L> {
+            check(types.none { it.bit == bit }) { "Bit $bit of $name already used" }
+            return EventType<L>(types.size, bit, name, conflatable).also { types.add(it) }
+        }
+
+        /*****************************************/
+        /*                 Voice                 */
+        /*****************************************/
+
+        val TTS_STATUS = of<Robot.TtsListener>(EventInterest.TTS_STATUS, "onTtsStatusChanged")
+
+        val WAKEUP_WORD = of<Robot.WakeupWordListener>(EventInterest.WAKEUP_WORD, "onWakeupWord")
+
+        val NLP_COMPLETED = of<Robot.NlpListener>(EventInterest.NLP_COMPLETED, "onNlpCompleted")
+
+        val ASR_RESULT = of<Robot.AsrListener>(EventInterest.ASR_RESULT, "onAsrResult")
+
+        val CONVERSATION_VIEW_ATTACHES = of<Robot.ConversationViewAttachesListener>(
+            EventInterest.CONVERSATION_VIEW_ATTACHES, "onConversationAttaches"
+        )
+
+        val CONVERSATION_STATUS = of<OnConversationStatusChangedListener>(
+            EventInterest.CONVERSATION_STATUS, "onConversationStatusChanged"
+        )
+
+        val TTS_VISUALIZER_WAVE_FORM = of<OnTtsVisualizerWaveFormDataChangedListener>(
+            EventInterest.TTS_VISUALIZER_WAVE_FORM, "onTtsVisualizerWaveFormDataChanged",
+            conflatable = true
+        )
+
+        val TTS_VISUALIZER_FFT = of<OnTtsVisualizerFftDataChangedListener>(
+            EventInterest.TTS_VISUALIZER_FFT, "onTtsVisualizerFftDataChanged", conflatable = true
+        )
+
+        /*****************************************/
+        /*               Navigation              */
+        /*****************************************/
+
+        val GO_TO_LOCATION_STATUS = of<OnGoToLocationStatusChangedListener>(
+            EventInterest.GO_TO_LOCATION_STATUS, "onGoToLocationStatusChanged"
+        )
+
+        val LOCATIONS_UPDATED = of<OnLocationsUpdatedListener>(
+            EventInterest.LOCATIONS_UPDATED, "onLocationsUpdated"
+        )
+
+        val DISTANCE_TO_LOCATION = of<OnDistanceToLocationChangedListener>(
+            EventInterest.DISTANCE_TO_LOCATION, "onDistanceToLocationChanged", conflatable = true
+        )
+
+        val CURRENT_POSITION = of<OnCurrentPositionChangedListener>(
+            EventInterest.CURRENT_POSITION, "onCurrentPositionChanged", conflatable = true
+        )
+
+        val REPOSE_STATUS = of<OnReposeStatusChangedListener>(
+            EventInterest.REPOSE_STATUS, "onReposeStatusChanged"
+        )
+
+        val DISTANCE_TO_DESTINATION = of<OnDistanceToDestinationChangedListener>(
+            EventInterest.DISTANCE_TO_DESTINATION, "onDistanceToDestinationChanged"
+        )
+
+        val GO_TO_NAV_PATH = of<OnGoToNavPathChangedListener>(
+            EventInterest.GO_TO_NAV_PATH, "onGoToNavPathChanged"
+        )
+
+        val LOAD_MAP_STATUS = of<OnLoadMapStatusChangedListener>(
+            EventInterest.LOAD_MAP_STATUS, "onLoadMapStatusChanged"
+        )
+
+        val LOAD_FLOOR_STATUS = of<OnLoadFloorStatusChangedListener>(
+            EventInterest.LOAD_FLOOR_STATUS, "onLoadFloorStatusChanged"
+        )
+
+        /*****************************************/
+        /*            Movement & Follow          */
+        /*****************************************/
+
+        val BE_WITH_ME_STATUS = of<OnBeWithMeStatusChangedListener>(
+            EventInterest.BE_WITH_ME_STATUS, "onBeWithMeStatusChanged"
+        )
+
+        val CONSTRAINT_BE_WITH_STATUS = of<OnConstraintBeWithStatusChangedListener>(
+            EventInterest.CONSTRAINT_BE_WITH_STATUS, "onConstraintBeWithStatusChanged"
+        )
+
+        val MOVEMENT_VELOCITY = of<OnMovementVelocityChangedListener>(
+            EventInterest.MOVEMENT_VELOCITY, "onMovementVelocityChanged", conflatable = true
+        )
+
+        val MOVEMENT_STATUS = of<OnMovementStatusChangedListener>(
+            EventInterest.MOVEMENT_STATUS, "onMovementStatusChanged"
+        )
+
+        val ROBOT_LIFTED = of<OnRobotLiftedListener>(EventInterest.ROBOT_LIFTED, "onRobotLifted")
+
+        val ROBOT_DRAG_STATE = of<OnRobotDragStateChangedListener>(
+            EventInterest.ROBOT_DRAG_STATE, "onRobotDragStateChanged"
+        )
+
+        /*****************************************/
+        /*                 People                */
+        /*****************************************/
+
+        val TELEPRESENCE_STATUS = of<OnTelepresenceStatusChangedListener>(
+            EventInterest.TELEPRESENCE_STATUS, "onTelepresenceStatusChanged"
+        )
+
+        val TELEPRESENCE_EVENT = of<OnTelepresenceEventChangedListener>(
+            EventInterest.TELEPRESENCE_EVENT, "onTelepresenceEventChanged"
+        )
+
+        val USER_UPDATED = of<OnUsersUpdatedListener>(EventInterest.USER_UPDATED, "onUserUpdated")
+
+        val USER_INTERACTION = of<OnUserInteractionChangedListener>(
+            EventInterest.USER_INTERACTION, "onUserInteraction"
+        )
+
+        val DETECTION_STATE = of<OnDetectionStateChangedListener>(
+            EventInterest.DETECTION_STATE, "onDetectionStateChanged"
+        )
+
+        val DETECTION_DATA = of<OnDetectionDataChangedListener>(
+            EventInterest.DETECTION_DATA, "onDetectionDataChanged", conflatable = true
+        )
+
+        val FACE_RECOGNIZED = of<OnFaceRecognizedListener>(
+            EventInterest.FACE_RECOGNIZED, "onFaceRecognized"
+        )
+
+        val CONTINUOUS_FACE_RECOGNIZED = of<OnContinuousFaceRecognizedListener>(
+            EventInterest.CONTINUOUS_FACE_RECOGNIZED, "onContinuousFaceRecognized"
+        )
+
+        val GREET_MODE_STATE = of<OnGreetModeStateChangedListener>(
+            EventInterest.GREET_MODE_STATE, "onGreetModeStateChanged"
+        )
+
+        /*****************************************/
+        /*                 System                */
+        /*****************************************/
+
+        val ROBOT_READY = of<OnRobotReadyListener>(EventInterest.ROBOT_READY, "onRobotReady")
+
+        val BATTERY_STATUS = of<OnBatteryStatusChangedListener>(
+            EventInterest.BATTERY_STATUS, "onBatteryStatusChanged"
+        )
+
+        val PRIVACY_MODE = of<OnPrivacyModeChangedListener>(
+            EventInterest.PRIVACY_MODE, "onPrivacyModeChanged"
+        )
+
+        val REQUEST_PERMISSION_RESULT = of<OnRequestPermissionResultListener>(
+            EventInterest.REQUEST_PERMISSION_RESULT, "onRequestPermissionResult"
+        )
+
+        val SEQUENCE_PLAY_STATUS = of<OnSequencePlayStatusChangedListener>(
+            EventInterest.SEQUENCE_PLAY_STATUS, "onSequencePlayStatusChanged"
+        )
+
+        val SDK_EXCEPTION = of<OnSdkExceptionListener>(EventInterest.SDK_EXCEPTION, "onSdkError")
+
+        val DISABLED_FEATURE_LIST = of<OnDisabledFeatureListUpdatedListener>(
+            EventInterest.DISABLED_FEATURE_LIST, "onDisabledFeatureListUpdated"
+        )
+
+        val SERIAL_RAW_DATA = of<OnSerialRawDataListener>(
+            EventInterest.SERIAL_RAW_DATA, "onSerialRawData"
+        )
+
+        val BUTTON_STATUS = of<OnButtonStatusChangedListener>(
+            EventInterest.BUTTON_STATUS, "onButtonStatusChanged"
+        )
+
+        /**
+         * All the types, in [id] order.
+         */
+        val values: List<EventType<*>> = types
+    }
+}
@@ -0,0 +1,349 @@
+package com.robotemi.sdk.dispatch
+
+import android.os.Handler
+import com.robotemi.sdk.metrics.CallbackMetrics
+import java.lang.ref.WeakReference
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Listeners of one callback type, each of them optionally bound to an [Executor].
+ *
+ * Listeners without an executor are called on [mainHandler], all of them in one posted task.
+ * Listeners with an executor get a task of their own on that executor.
+ *
+ * The listeners are kept in an immutable array replaced on every change, so dispatching
+ * reads a single snapshot and iterates it by index without locking or allocating iterators.
+ *
+ * When [conflating] is on, [dispatchLatest] keeps at most one pending value per target,
+ * so a slow consumer skips intermediate values instead of falling behind.
+ *
+ * Listeners added while [EventRegistry.weakReferences] is on are weakly referenced,
+ * and removed by the first dispatch after they were garbage collected.
+ */
+internal class ListenerSet<T : Any>(
+    val type: EventType<T>,
+    private val mainHandler: Handler,
+    private val registry: EventRegistry
+) {
+
+    /**
+     * @param executor `null` for main thread listeners called together in one posted task.
+     * @param mainThread Whether the listener is called on the main thread, with or without
+     * an [executor] of its own.
+     */
+    private class Entry<T : Any>(
+        listener: T,
+        val executor: Executor?,
+        val weak: Boolean,
+        val filter: EventFilter?,
+        val mainThread: Boolean
+    ) {
+
+        private val strongRef: T? = if (weak) null else listener
+
+        private val weakRef: WeakReference<T>? = if (weak) WeakReference(listener) else null
+
+        /**
+         * `null` once a weakly referenced listener was garbage collected.
+         */
+        val listener: T?
+            get() = strongRef ?: weakRef?.get()
+
+        /**
+         * Set once the listener was reported as slow, so it is reported only once.
+         */
+        @Volatile
+        var reported = false
+
+        /**
+         * Cleared on removal, so tasks queued before that are skipped.
+         */
+        @Volatile
+        var active = true
+
+        /**
+         * Value waiting for delivery when conflating, for listeners with an executor.
+         */
+        val pending = AtomicReference<Any?>()
+    }
+
+    private class Snapshot<T : Any>(
+        val entries: Array<Entry<T>>,
+        val hasMainThreadEntries: Boolean
+    )
+
+    @Volatile
+    private var snapshot = Snapshot<T>(emptyArray(), false)
+
+    private val lock = Any()
+
+    @Volatile
+    var conflating = false
+
+    private val pendingMain = AtomicReference<Any?>()
+
+    private val droppedCount = AtomicLong()
+
+    val metrics = CallbackMetrics(type.name)
+
+    /**
+     * Number of values replaced by a newer one before being delivered.
+     */
+    val dropped: Long
+        get() = droppedCount.get()
+
+    val size: Int
+        get() = snapshot.entries.size
+
+    /**
+     * Posts to [mainHandler], for main thread listeners which have to be called one by one.
+     */
+    private val mainThreadExecutor = Executor { mainHandler.post(it) }
+
+    /**
+     * Add a listener, or change the executor of one already added.
+     *
+     * @param filter Checked on the dispatching thread against the values of [dispatchLatest],
+     * so rejected values never reach the listener's thread.
+     * @return `true` if the listener was not added before.
+     */
+    fun add(listener: T, executor: Executor? = null, filter: EventFilter? = null): Boolean {
+        synchronized(lock) {
+            val entries = snapshot.entries
+            val index = indexOf(entries, listener)
+            val updated = entries.copyOf(if (index < 0) entries.size + 1 else entries.size)
+            if (index >= 0) entries[index].active = false
+            // A filtered listener gets tasks of its own, as it may skip values the others get.
+            val target = executor ?: filter?.let { mainThreadExecutor }
+            updated[if (index < 0) entries.size else index] =
+                Entry(listener, target, registry.weakReferences, filter, executor == null)
+            @Suppress("UNCHECKED_CAST")
+            publish(updated as Array<Entry<T>>)
+            if (entries.isEmpty()) registry.onInterestChanged?.invoke()
+            return index < 0
+        }
+    }
+
+    fun remove(listener: T): Boolean {
+        synchronized(lock) {
+            val entries = snapshot.entries
+            val index = indexOf(entries, listener)
+            if (index < 0) return false
+            removeAt(entries, index)
+            return true
+        }
+    }
+
+    /**
+     * Remove an entry whose listener was garbage collected.
+     */
+    private fun prune(entry: Entry<T>) {
+        synchronized(lock) {
+            val entries = snapshot.entries
+            val index = entries.indexOf(entry)
+            if (index >= 0) removeAt(entries, index)
+        }
+    }
+
+    private fun removeAt(entries: Array<Entry<T>>, index: Int) {
+        entries[index].active = false
+        val updated = entries.copyOf(entries.size - 1)
+        System.arraycopy(entries, index + 1, updated, index, entries.size - index - 1)
+        @Suppress("UNCHECKED_CAST")
+        publish(updated as Array<Entry<T>>)
+        if (updated.isEmpty()) registry.onInterestChanged?.invoke()
+    }
+
+    fun isEmpty() = snapshot.entries.isEmpty()
+
+    fun isNotEmpty() = snapshot.entries.isNotEmpty()
+
+    fun contains(listener: T) = indexOf(snapshot.entries, listener) >= 0
+
+    private fun indexOf(entries: Array<Entry<T>>, listener: T): Int {
+        for (i in entries.indices) {
+            if (entries[i].listener == listener) return i
+        }
+        return -1
+    }
+
+    private fun publish(entries: Array<Entry<T>>) {
+        var hasMainThreadEntries = false
+        for (i in entries.indices) {
+            if (entries[i].executor == null) {
+                hasMainThreadEntries = true
+                break
+            }
+        }
+        snapshot = Snapshot(entries, hasMainThreadEntries)
+    }
+
+    /**
+     * Deliver an event to all listeners, asynchronously.
+     */
+    fun dispatch(action: (T) -> Unit) {
+        dispatch(null, action)
+    }
+
+    /**
+     * @param value Checked against the filters of the listeners, `null` if there is none.
+     */
+    private fun dispatch(value: Any?, action: (T) -> Unit) {
+        val arrival = System.nanoTime()
+        val current = snapshot
+        val entries = current.entries
+        for (i in entries.indices) {
+            val entry = entries[i]
+            val executor = entry.executor ?: continue
+            if (value != null && entry.filter?.accept(value) == false) continue
+            executor.execute { deliver(entry, arrival, action) }
+        }
+        if (!current.hasMainThreadEntries) return
+        mainHandler.post { deliverOnMainThread(entries, arrival, action) }
+    }
+
+    /**
+     * Same as [dispatch], but only the newest value is delivered when [conflating]
+     * and a previous one is still pending.
+     */
+    fun <V : Any> dispatchLatest(value: V, action: (T, V) -> Unit) {
+        if (!conflating) {
+            dispatch(value) { action(it, value) }
+            return
+        }
+        val arrival = System.nanoTime()
+        val current = snapshot
+        val entries = current.entries
+        for (i in entries.indices) {
+            val entry = entries[i]
+            val executor = entry.executor ?: continue
+            if (entry.filter?.accept(value) == false) continue
+            if (entry.pending.getAndSet(value) != null) {
+                droppedCount.incrementAndGet()
+                continue
+            }
+            executor.execute {
+                @Suppress("UNCHECKED_CAST")
+                val latest = entry.pending.getAndSet(null) as V? ?: return@execute
+                deliver(entry, arrival) { action(it, latest) }
+            }
+        }
+        if (!current.hasMainThreadEntries) return
+        if (pendingMain.getAndSet(value) != null) {
+            droppedCount.incrementAndGet()
+            return
+        }
+        mainHandler.post {
+            @Suppress("UNCHECKED_CAST")
+            val latest = pendingMain.getAndSet(null) as V? ?: return@post
+            // Read again, the snapshot may have changed while the value was pending.
+            deliverOnMainThread(snapshot.entries, arrival) { action(it, latest) }
+        }
+    }
+
+    /**
+     * Deliver an event to a single listener, asynchronously.
+     */
+    fun dispatchTo(listener: T, action: (T) -> Unit) {
+        val arrival = System.nanoTime()
+        val entries = snapshot.entries
+        val index = indexOf(entries, listener)
+        if (index < 0) return
+        val entry = entries[index]
+        val task = Runnable { deliver(entry, arrival, action) }
+        val executor = entry.executor
+        if (executor == null) mainHandler.post(task) else executor.execute(task)
+    }
+
+    /**
+     * Deliver an event to all listeners, calling the ones without an executor
+     * directly on the current thread.
+     */
+    fun dispatchNow(action: (T) -> Unit) {
+        val entries = snapshot.entries
+        for (i in entries.indices) {
+            deliverNow(entries[i], action)
+        }
+    }
+
+    /**
+     * Deliver an event to a single listener, calling it directly on the current thread
+     * if it has no executor.
+     */
+    fun dispatchNowTo(listener: T, action: (T) -> Unit) {
+        val entries = snapshot.entries
+        val index = indexOf(entries, listener)
+        if (index >= 0) deliverNow(entries[index], action)
+    }
+
+    private fun deliverNow(entry: Entry<T>, action: (T) -> Unit) {
+        val executor = entry.executor
+        if (executor == null) {
+            invoke(entry, action)
+        } else {
+            val arrival = System.nanoTime()
+            executor.execute { deliver(entry, arrival, action) }
+        }
+    }
+
+    /**
+     * Deliver to one listener, [arrival] being the [System.nanoTime] the event was received at.
+     */
+    private fun deliver(entry: Entry<T>, arrival: Long, action: (T) -> Unit) {
+        if (!entry.active) return
+        metrics.recordQueueWait(System.nanoTime() - arrival)
+        invoke(entry, action)
+        metrics.recordEndToEnd(System.nanoTime() - arrival)
+    }
+
+    private fun deliverOnMainThread(entries: Array<Entry<T>>, arrival: Long, action: (T) -> Unit) {
+        metrics.recordQueueWait(System.nanoTime() - arrival)
+        for (i in entries.indices) {
+            val entry = entries[i]
+            if (entry.executor == null && entry.active) invoke(entry, action)
+        }
+        metrics.recordEndToEnd(System.nanoTime() - arrival)
+    }
+
+    private fun invoke(entry: Entry<T>, action: (T) -> Unit) {
+        val listener = entry.listener
+        if (listener == null) {
+            prune(entry)
+            return
+        }
+        val start = System.nanoTime()
+        action(listener)
+        val nanos = System.nanoTime() - start
+        metrics.recordExecution(listener, nanos)
+        if (!entry.reported && registry.watchdog.isViolation(nanos)) {
+            onSlowListener(entry, listener, nanos)
+        }
+    }
+
+    private fun onSlowListener(entry: Entry<T>, listener: T, nanos: Long) {
+        entry.reported = true
+        val watchdog = registry.watchdog
+        if (entry.mainThread && watchdog.isolate) isolate(entry, listener)
+        watchdog.onViolation?.invoke(type, listener, nanos)
+    }
+
+    /**
+     * Move a main thread listener to an executor of its own.
+     */
+    private fun isolate(entry: Entry<T>, listener: T) {
+        synchronized(lock) {
+            val entries = snapshot.entries
+            val index = entries.indexOf(entry)
+            if (index < 0) return
+            val executor = registry.watchdog.newIsolatedExecutor(type, listener)
+            val isolated = Entry(listener, executor, entry.weak, entry.filter, false)
+            isolated.reported = true
+            val updated = entries.copyOf()
+            updated[index] = isolated
+            entry.active = false
+            publish(updated)
+        }
+    }
+}
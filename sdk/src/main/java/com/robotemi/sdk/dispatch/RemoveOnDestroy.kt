@@ -0,0 +1,30 @@
+package com.robotemi.sdk.dispatch
+
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.LifecycleEventObserver
+import androidx.lifecycle.LifecycleOwner
+
+/**
+ * Runs [remove] when the observed lifecycle is destroyed, then stops observing it.
+ */
+internal class RemoveOnDestroy(private val remove: () -> Unit) : LifecycleEventObserver {
+
+    override fun onStateChanged(source: LifecycleOwner, event: Lifecycle.Event) {
+        if (event != Lifecycle.Event.ON_DESTROY) return
+        source.lifecycle.removeObserver(this)
+        remove()
+    }
+
+    companion object {
+
+        /**
+         * Run [add] now and [remove] when [owner] is destroyed, or nothing if it already is.
+         */
+        fun bind(owner: LifecycleOwner, add: () -> Unit, remove: () -> Unit) {
+            val lifecycle = owner.lifecycle
+            if (lifecycle.currentState == Lifecycle.State.DESTROYED) return
+            add()
+            lifecycle.addObserver(RemoveOnDestroy(remove))
+        }
+    }
+}
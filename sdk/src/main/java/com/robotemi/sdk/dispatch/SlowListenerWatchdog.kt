@@ -0,0 +1,53 @@
+package com.robotemi.sdk.dispatch
+
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+/**
+ * Checks every listener invocation against [budgetNanos], shared by all the [ListenerSet]s
+ * of an [EventRegistry].
+ *
+ * A listener exceeding the budget is reported once per registration to [onViolation].
+ * With [isolate], a listener called on the main thread is also moved to a thread of its own,
+ * so it no longer delays the other listeners.
+ */
+internal class SlowListenerWatchdog {
+
+    /**
+     * 0 when disabled.
+     */
+    @Volatile
+    var budgetNanos = 0L
+
+    @Volatile
+    var isolate = false
+
+    /**
+     * Called with the event type, the listener and the duration of the invocation.
+     */
+    @Volatile
+    var onViolation: ((EventType<*>, Any, Long) -> Unit)? = null
+
+    fun isViolation(nanos: Long): Boolean {
+        val budget = budgetNanos
+        return budget > 0 && nanos > budget
+    }
+
+    /**
+     * A single thread executor for one listener, its thread ends when idle.
+     */
+    fun newIsolatedExecutor(type: EventType<*>, listener: Any): Executor {
+        val name = "temi-sdk-${type.name}-${listener.javaClass.simpleName}"
+        return ThreadPoolExecutor(
+            0, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue(),
+            ThreadFactory { Thread(it, name) }
+        )
+    }
+
+    private companion object {
+        const val IDLE_TIMEOUT_SECONDS = 30L
+    }
+}
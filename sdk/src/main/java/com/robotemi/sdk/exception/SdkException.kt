@@ -24,6 +24,7 @@ data class SdkException(
 
         const val CODE_ILLEGAL_ARGUMENT = 400
         const val CODE_PERMISSION_DENIED = 403
+        const val CODE_SLOW_LISTENER = 408
         const val CODE_OPERATION_CONFLICT = 409
 
         const val CODE_LAUNCHER_ERROR = 500
@@ -44,6 +45,9 @@ data class SdkException(
         @JvmStatic
         fun operationConflict(msg: String) = SdkException(CODE_OPERATION_CONFLICT, msg)
 
+        @JvmStatic
+        fun slowListener(msg: String) = SdkException(CODE_SLOW_LISTENER, msg)
+
         @JvmStatic
         fun launcherError(msg: String) = SdkException(CODE_LAUNCHER_ERROR, msg)
     }
@@ -5,6 +5,7 @@ import android.os.Parcel
 import android.os.Parcelable
 import org.json.JSONException
 import org.json.JSONObject
+import java.util.Collections
 
 /**
  * @param userType 0: registered temi user,
@@ -76,8 +77,13 @@ data class ContactModel @JvmOverloads constructor(
  *
  */
 internal fun ContactModel.compatible(): ContactModel {
-    if (this.description.isBlank()) return this
-    val json = JSONObject(this.description)
+    // Plain descriptions come from launchers sending no extra fields.
+    if (!this.description.trimStart().startsWith('{')) return this
+    val json = try {
+        JSONObject(this.description)
+    } catch (e: JSONException) {
+        return this
+    }
     val desc = try {
         json.getString(ContactModel.JSON_KEY_DESCRIPTION)
     } catch (e: JSONException) {
@@ -114,4 +120,11 @@ internal fun ContactModel.compatible(): ContactModel {
         Rect()
     }
     return this.copy(description = desc, userId = userId, age = age, userType = userType, similarity = similarity, faceRect = faceRect)
-}
\ No newline at end of file
+}
+
+/**
+ * Decode a list received from temi once, to be shared by all the listeners.
+ */
+internal fun List<ContactModel>.compatible(): List<ContactModel> {
+    return Collections.unmodifiableList(map { it.compatible() })
+}
@@ -4,6 +4,8 @@ interface OnRobotReadyListener {
 
     /**
      * Called when connection with robot was established.
+     * With [com.robotemi.sdk.constants.SdkConstants.METADATA_RECONNECT], also called with `false`
+     * when the connection is lost, and with `true` again once reconnected.
      *
      * @param isReady `true` when connection is open. `false` otherwise.
      */
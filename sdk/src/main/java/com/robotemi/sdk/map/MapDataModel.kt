@@ -4,6 +4,7 @@ import android.os.Parcel
 import android.os.Parcelable
 import androidx.annotation.IntRange
 import androidx.annotation.Keep
+import com.google.gson.annotations.JsonAdapter
 import com.google.gson.annotations.SerializedName
 import kotlin.math.round
 
@@ -53,12 +54,16 @@ data class MapDataModel(
     }
 }
 
+/**
+ * @param data Cells of the map, row by row. An [OccupancyGrid] when read from temi or a parcel.
+ */
 data class MapImage(
     @SerializedName("type_id")
     val typeId: String,
     val rows: Int,
     val cols: Int,
     val dt: String,
+    @JsonAdapter(OccupancyGrid.Adapter::class)
     val data: List<Int>
 ) : Parcelable {
     constructor(source: Parcel) : this(
@@ -66,9 +71,15 @@ data class MapImage(
         source.readInt(),
         source.readInt(),
         source.readString()!!,
-        ArrayList<Int>().apply { source.readList(this, Int::class.java.classLoader) }
+        OccupancyGrid.readFromParcel(source)
     )
 
+    /**
+     * [data] as a primitive grid, to read cells without boxing them.
+     */
+    val grid: OccupancyGrid
+        get() = OccupancyGrid.of(data)
+
     override fun describeContents() = 0
 
     override fun writeToParcel(dest: Parcel, flags: Int) = with(dest) {
@@ -76,7 +87,7 @@ data class MapImage(
         writeInt(rows)
         writeInt(cols)
         writeString(dt)
-        writeList(data)
+        OccupancyGrid.writeToParcel(grid, this)
     }
 
     companion object CREATOR : Parcelable.Creator<MapImage> {
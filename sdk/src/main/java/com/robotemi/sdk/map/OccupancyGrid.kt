@@ -0,0 +1,165 @@
+package com.robotemi.sdk.map
+
+import android.os.Parcel
+import com.google.gson.TypeAdapter
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonToken
+import com.google.gson.stream.JsonWriter
+
+/**
+ * Cells of a [MapImage], held in a primitive array instead of boxed integers.
+ *
+ * Occupancy values from -1 to 100 take one byte per cell. Other values switch the grid
+ * to an int per cell. Read cells with [getInt] to avoid boxing them again.
+ */
+class OccupancyGrid private constructor(
+    private val bytes: ByteArray?,
+    private val ints: IntArray?,
+    override val size: Int
+) : AbstractList<Int>(), RandomAccess {
+
+    override fun get(index: Int): Int = getInt(index)
+
+    fun getInt(index: Int): Int {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index $index, size $size")
+        }
+        val bytes = bytes
+        return if (bytes != null) bytes[index].toInt() else ints!![index]
+    }
+
+    fun toIntArray(): IntArray {
+        val bytes = bytes ?: return ints!!.copyOf(size)
+        return IntArray(size) { bytes[it].toInt() }
+    }
+
+    override fun equals(other: Any?): Boolean {
+        if (other !is OccupancyGrid) return super.equals(other)
+        if (size != other.size) return false
+        for (i in 0 until size) {
+            if (getInt(i) != other.getInt(i)) return false
+        }
+        return true
+    }
+
+    override fun hashCode(): Int {
+        var hash = 1
+        for (i in 0 until size) {
+            hash = 31 * hash + getInt(i)
+        }
+        return hash
+    }
+
+    /**
+     * Appends cells, growing a byte array until a value does not fit in a byte.
+     */
+    private class Builder(capacity: Int) {
+        private var bytes: ByteArray? = ByteArray(capacity.coerceAtLeast(INITIAL_CAPACITY))
+        private var ints: IntArray? = null
+        private var size = 0
+
+        fun add(value: Int) {
+            val bytes = bytes
+            if (bytes != null && value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                if (size == bytes.size) this.bytes = bytes.copyOf(size * 2)
+                this.bytes!![size++] = value.toByte()
+                return
+            }
+            if (bytes != null) {
+                ints = IntArray(bytes.size) { bytes[it].toInt() }
+                this.bytes = null
+            }
+            var ints = ints!!
+            if (size == ints.size) {
+                ints = ints.copyOf(size * 2)
+                this.ints = ints
+            }
+            ints[size++] = value
+        }
+
+        fun build() = OccupancyGrid(bytes, ints, size)
+    }
+
+    /**
+     * Reads and writes the grid as a JSON array of numbers.
+     */
+    internal class Adapter : TypeAdapter<List<Int>>() {
+
+        override fun write(writer: JsonWriter, value: List<Int>?) {
+            if (value == null) {
+                writer.nullValue()
+                return
+            }
+            val grid = of(value)
+            writer.beginArray()
+            for (i in 0 until grid.size) {
+                writer.value(grid.getInt(i).toLong())
+            }
+            writer.endArray()
+        }
+
+        override fun read(reader: JsonReader): List<Int>? {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull()
+                return null
+            }
+            val builder = Builder(INITIAL_CAPACITY)
+            reader.beginArray()
+            while (reader.hasNext()) {
+                builder.add(reader.nextInt())
+            }
+            reader.endArray()
+            return builder.build()
+        }
+    }
+
+    companion object {
+        private const val INITIAL_CAPACITY = 1024
+
+        /**
+         * [VAL_INTEGER][Parcel.writeValue] tag preceding each cell written by [Parcel.writeList].
+         */
+        private const val VAL_INTEGER = 1
+
+        private const val VAL_NULL = -1
+
+        /**
+         * [list] itself if already a grid, or else a grid of its values.
+         */
+        @JvmStatic
+        fun of(list: List<Int>): OccupancyGrid {
+            if (list is OccupancyGrid) return list
+            val builder = Builder(list.size)
+            for (value in list) builder.add(value)
+            return builder.build()
+        }
+
+        /**
+         * Write [grid] in the layout of [Parcel.writeList], without boxing its cells,
+         * so that a reader using [Parcel.readList] still gets the same list.
+         */
+        internal fun writeToParcel(grid: OccupancyGrid, dest: Parcel) {
+            dest.writeInt(grid.size)
+            for (i in 0 until grid.size) {
+                dest.writeInt(VAL_INTEGER)
+                dest.writeInt(grid.getInt(i))
+            }
+        }
+
+        /**
+         * Read a list written by [Parcel.writeList] or [writeToParcel].
+         */
+        internal fun readFromParcel(source: Parcel): OccupancyGrid {
+            val size = source.readInt()
+            val builder = Builder(size)
+            for (i in 0 until size) {
+                when (val type = source.readInt()) {
+                    VAL_INTEGER -> builder.add(source.readInt())
+                    VAL_NULL -> builder.add(0)
+                    else -> throw IllegalArgumentException("Unexpected map cell of type $type")
+                }
+            }
+            return builder.build()
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.robotemi.sdk.metrics
+
+import android.os.Looper
+import com.robotemi.sdk.ISdkService
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Timing of the calls to temi's service, by [ISdkService] method name, see [BinderCallStats].
+ */
+internal class BinderCallMetrics {
+
+    private class MethodMetrics(val name: String) {
+
+        val latency = LatencyHistogram()
+
+        val mainThreadLatency = LatencyHistogram()
+
+        val exceptions = AtomicLong()
+
+        fun snapshot(): BinderCallStats {
+            val mainThread = mainThreadLatency.snapshot()
+            return BinderCallStats(
+                name = name,
+                latency = latency.snapshot(),
+                mainThreadCalls = mainThread.count,
+                mainThreadLatency = mainThread,
+                exceptions = exceptions.get()
+            )
+        }
+    }
+
+    private val methods = ConcurrentHashMap<String, MethodMetrics>()
+
+    /**
+     * Wrap [service] so every call to it is recorded.
+     */
+    fun instrument(service: ISdkService): ISdkService {
+        return Proxy.newProxyInstance(
+            ISdkService::class.java.classLoader,
+            arrayOf(ISdkService::class.java),
+            InvocationHandler { _, method, args ->
+                // equals(), hashCode(), toString() and asBinder() do not reach temi.
+                if (method.declaringClass != ISdkService::class.java) {
+                    return@InvocationHandler invoke(service, method, args)
+                }
+                val metrics = methods[method.name] ?: MethodMetrics(method.name).let {
+                    methods.putIfAbsent(method.name, it) ?: it
+                }
+                val mainThread = Looper.myLooper() === Looper.getMainLooper()
+                val start = System.nanoTime()
+                try {
+                    invoke(service, method, args)
+                } catch (e: Throwable) {
+                    metrics.exceptions.incrementAndGet()
+                    throw e
+                } finally {
+                    val nanos = System.nanoTime() - start
+                    metrics.latency.record(nanos)
+                    if (mainThread) metrics.mainThreadLatency.record(nanos)
+                }
+            }
+        ) as ISdkService
+    }
+
+    private fun invoke(service: ISdkService, method: Method, args: Array<Any?>?): Any? {
+        return try {
+            method.invoke(service, *(args ?: emptyArray()))
+        } catch (e: InvocationTargetException) {
+            throw e.targetException
+        }
+    }
+
+    fun snapshot(): Map<String, BinderCallStats> {
+        return methods.values
+            .sortedBy { it.name }
+            .associate { it.name to it.snapshot() }
+    }
+
+    fun reset() {
+        methods.clear()
+    }
+}
@@ -0,0 +1,54 @@
+package com.robotemi.sdk.metrics
+
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Timing recorded for one callback type, see [CallbackStats].
+ */
+internal class CallbackMetrics(private val name: String) {
+
+    private class Slowest(val listener: String, val nanos: Long)
+
+    private val queueWait = LatencyHistogram()
+
+    private val execution = LatencyHistogram()
+
+    private val endToEnd = LatencyHistogram()
+
+    private val slowest = AtomicReference<Slowest?>()
+
+    val hasRecords: Boolean
+        get() = slowest.get() != null
+
+    fun recordQueueWait(nanos: Long) = queueWait.record(nanos)
+
+    fun recordEndToEnd(nanos: Long) = endToEnd.record(nanos)
+
+    fun recordExecution(listener: Any, nanos: Long) {
+        execution.record(nanos)
+        var current = slowest.get()
+        while (current == null || nanos > current.nanos) {
+            if (slowest.compareAndSet(current, Slowest(listener.javaClass.name, nanos))) return
+            current = slowest.get()
+        }
+    }
+
+    fun reset() {
+        queueWait.reset()
+        execution.reset()
+        endToEnd.reset()
+        slowest.set(null)
+    }
+
+    fun snapshot(): CallbackStats {
+        val slowestListener = slowest.get()
+        return CallbackStats(
+            name = name,
+            queueWait = queueWait.snapshot(),
+            execution = execution.snapshot(),
+            endToEnd = endToEnd.snapshot(),
+            slowestListener = slowestListener?.listener,
+            slowestListenerNanos = slowestListener?.nanos ?: 0
+        )
+    }
+}
@@ -0,0 +1,72 @@
+package com.robotemi.sdk.metrics
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Lock-free histogram of durations in nanoseconds, with power of two buckets.
+ *
+ * Bucket `i` counts durations in `[2^(i-1), 2^i)`, so recording is a couple of atomic increments
+ * and percentiles are accurate to a factor of two.
+ */
+internal class LatencyHistogram {
+
+    private val buckets = AtomicLongArray(BUCKET_COUNT)
+
+    private val count = AtomicLong()
+
+    private val total = AtomicLong()
+
+    private val max = AtomicLong()
+
+    fun record(nanos: Long) {
+        val value = if (nanos < 0) 0 else nanos
+        buckets.incrementAndGet(Long.SIZE_BITS - java.lang.Long.numberOfLeadingZeros(value))
+        count.incrementAndGet()
+        total.addAndGet(value)
+        var current = max.get()
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get()
+        }
+    }
+
+    fun reset() {
+        for (i in 0 until BUCKET_COUNT) {
+            buckets.set(i, 0)
+        }
+        count.set(0)
+        total.set(0)
+        max.set(0)
+    }
+
+    fun snapshot(): LatencyStats {
+        val counts = LongArray(BUCKET_COUNT) { buckets.get(it) }
+        val sampled = counts.sum()
+        val maxNanos = max.get()
+        fun percentile(fraction: Double): Long {
+            if (sampled == 0L) return 0
+            val rank = Math.ceil(sampled * fraction).toLong()
+            var seen = 0L
+            for (i in counts.indices) {
+                seen += counts[i]
+                if (seen >= rank) return minOf(upperBound(i), maxNanos)
+            }
+            return maxNanos
+        }
+        return LatencyStats(
+            count = count.get(),
+            totalNanos = total.get(),
+            maxNanos = maxNanos,
+            p50Nanos = percentile(0.5),
+            p90Nanos = percentile(0.9),
+            p99Nanos = percentile(0.99)
+        )
+    }
+
+    private fun upperBound(bucket: Int) = (1L shl bucket) - 1
+
+    private companion object {
+        // Bucket 0 holds zero, bucket 63 the durations from 2^62 on.
+        const val BUCKET_COUNT = Long.SIZE_BITS
+    }
+}
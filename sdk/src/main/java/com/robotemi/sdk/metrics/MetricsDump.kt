@@ -0,0 +1,41 @@
+package com.robotemi.sdk.metrics
+
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.TimeUnit
+
+/**
+ * Logs [RobotMetrics] periodically from a background thread.
+ */
+internal class MetricsDump(private val metrics: () -> RobotMetrics) {
+
+    private var executor: ScheduledThreadPoolExecutor? = null
+
+    private var task: ScheduledFuture<*>? = null
+
+    /**
+     * @param intervalMillis 0 to stop.
+     */
+    @Synchronized
+    fun schedule(intervalMillis: Long) {
+        task?.cancel(false)
+        task = null
+        if (intervalMillis <= 0) {
+            executor?.shutdown()
+            executor = null
+            return
+        }
+        val executor = executor ?: ScheduledThreadPoolExecutor(
+            1, ThreadFactory { Thread(it, THREAD_NAME).apply { isDaemon = true } }
+        ).also { executor = it }
+        task = executor.scheduleAtFixedRate(
+            { metrics().dumpToLogcat() },
+            intervalMillis, intervalMillis, TimeUnit.MILLISECONDS
+        )
+    }
+
+    private companion object {
+        const val THREAD_NAME = "temi-sdk-metrics-dump"
+    }
+}
@@ -0,0 +1,91 @@
+package com.robotemi.sdk.metrics
+
+import android.util.Log
+import java.util.concurrent.TimeUnit
+
+/**
+ * Summary of recorded durations. Percentiles are accurate to a factor of two.
+ */
+data class LatencyStats(
+    val count: Long,
+    val totalNanos: Long,
+    val maxNanos: Long,
+    val p50Nanos: Long,
+    val p90Nanos: Long,
+    val p99Nanos: Long
+) {
+
+    val meanNanos: Long
+        get() = if (count == 0L) 0 else totalNanos / count
+
+    override fun toString(): String {
+        return "n=$count mean=${micros(meanNanos)} p50=${micros(p50Nanos)} " +
+                "p90=${micros(p90Nanos)} p99=${micros(p99Nanos)} max=${micros(maxNanos)}"
+    }
+
+    private fun micros(nanos: Long) = "${TimeUnit.NANOSECONDS.toMicros(nanos)}us"
+}
+
+/**
+ * Timing of one callback type, e.g. `onCurrentPositionChanged`.
+ *
+ * @param queueWait From the arrival of the event on the binder thread until its delivery starts
+ * on the main thread or on the listener's executor.
+ * @param execution Time spent in each listener invocation.
+ * @param endToEnd From the arrival of the event until the last listener of a delivery returned.
+ * @param slowestListener Class of the listener with the longest single invocation.
+ */
+data class CallbackStats(
+    val name: String,
+    val queueWait: LatencyStats,
+    val execution: LatencyStats,
+    val endToEnd: LatencyStats,
+    val slowestListener: String?,
+    val slowestListenerNanos: Long
+)
+
+/**
+ * Timing of one [com.robotemi.sdk.ISdkService] method, e.g. `getLocations`.
+ *
+ * @param latency Duration of every call, until temi answered.
+ * @param mainThreadCalls Number of calls made on the main thread, each one delaying a frame.
+ * @param mainThreadLatency Duration of the calls made on the main thread.
+ * @param exceptions Number of calls which failed, mostly with a [android.os.RemoteException].
+ */
+data class BinderCallStats(
+    val name: String,
+    val latency: LatencyStats,
+    val mainThreadCalls: Long,
+    val mainThreadLatency: LatencyStats,
+    val exceptions: Long
+)
+
+/**
+ * Snapshot of the SDK metrics, see [com.robotemi.sdk.Robot.metrics].
+ */
+data class RobotMetrics(
+    val callbacks: Map<String, CallbackStats>,
+    val binderCalls: Map<String, BinderCallStats> = emptyMap()
+) {
+
+    fun dumpToLogcat(tag: String = TAG) {
+        for (stats in callbacks.values) {
+            Log.i(
+                tag, "${stats.name}: wait[${stats.queueWait}] " +
+                        "exec[${stats.execution}] e2e[${stats.endToEnd}] " +
+                        "slowest=${stats.slowestListener} " +
+                        "(${TimeUnit.NANOSECONDS.toMicros(stats.slowestListenerNanos)}us)"
+            )
+        }
+        for (stats in binderCalls.values) {
+            Log.i(
+                tag, "${stats.name}(): [${stats.latency}] " +
+                        "main[${stats.mainThreadLatency}] exceptions=${stats.exceptions}"
+            )
+        }
+    }
+
+    private companion object {
+        const val TAG = "RobotMetrics"
+    }
+}
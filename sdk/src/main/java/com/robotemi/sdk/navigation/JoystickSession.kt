@@ -0,0 +1,168 @@
+package com.robotemi.sdk.navigation
+
+import android.os.Process
+import androidx.annotation.FloatRange
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.metrics.LatencyHistogram
+import com.robotemi.sdk.metrics.LatencyStats
+import java.io.Closeable
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Timing of a [JoystickSession].
+ *
+ * @param sent Number of [Robot.skidJoy] calls.
+ * @param dropped Number of [JoystickSession.update] targets replaced by a newer one before sent.
+ * @param missedTicks Number of ticks skipped because a call to temi took longer than the period.
+ * @param deadManStops Number of times the robot was stopped because no target came in time.
+ * @param jitter Delay of each call after its scheduled tick, not counting dead man stops.
+ * @param sendTime Duration of each call.
+ */
+data class JoystickStats(
+    val sent: Long,
+    val dropped: Long,
+    val missedTicks: Long,
+    val deadManStops: Long,
+    val jitter: LatencyStats,
+    val sendTime: LatencyStats
+)
+
+/**
+ * Drives temi with [Robot.skidJoy] at a fixed rate from a high priority thread,
+ * whatever the rate of the input, see [Robot.startJoystickSession].
+ *
+ * Only the latest target given to [update] is kept, and sent again on every tick until replaced.
+ * When no target came for the dead man timeout, the robot is stopped and nothing is sent
+ * until the next [update]. [close] stops the robot and ends the session.
+ */
+class JoystickSession internal constructor(
+    private val robot: Robot,
+    rateHz: Int,
+    deadManTimeoutMs: Long,
+    private val smart: Boolean
+) : Closeable {
+
+    private class Target(val x: Float, val y: Float, val timeNanos: Long)
+
+    private val periodNanos = TimeUnit.SECONDS.toNanos(1) / rateHz
+
+    private val deadManNanos = TimeUnit.MILLISECONDS.toNanos(deadManTimeoutMs)
+
+    @Volatile
+    private var latest: Target? = null
+
+    @Volatile
+    private var open = true
+
+    /**
+     * Set by [update], cleared when a tick picks the target up.
+     */
+    private val fresh = AtomicBoolean()
+
+    private val sentCount = AtomicLong()
+
+    private val droppedCount = AtomicLong()
+
+    private val missedCount = AtomicLong()
+
+    private val deadManCount = AtomicLong()
+
+    private val jitter = LatencyHistogram()
+
+    private val sendTime = LatencyHistogram()
+
+    private val thread = Thread(::run, THREAD_NAME).apply {
+        isDaemon = true
+        start()
+    }
+
+    /**
+     * Set the target to drive to, sent on the next tick.
+     *
+     * @param x Move on the x axis from -1 to 1.
+     * @param y Move on the y axis from -1 to 1.
+     */
+    fun update(
+        @FloatRange(from = -1.0, to = 1.0) x: Float,
+        @FloatRange(from = -1.0, to = 1.0) y: Float
+    ) {
+        if (!open) return
+        latest = Target(x, y, System.nanoTime())
+        if (fresh.getAndSet(true)) droppedCount.incrementAndGet()
+        LockSupport.unpark(thread)
+    }
+
+    fun stats(): JoystickStats {
+        return JoystickStats(
+            sent = sentCount.get(),
+            dropped = droppedCount.get(),
+            missedTicks = missedCount.get(),
+            deadManStops = deadManCount.get(),
+            jitter = jitter.snapshot(),
+            sendTime = sendTime.snapshot()
+        )
+    }
+
+    val isOpen: Boolean
+        get() = open
+
+    /**
+     * Stop the robot and the session. Does nothing if already closed.
+     */
+    override fun close() {
+        if (!open) return
+        open = false
+        LockSupport.unpark(thread)
+    }
+
+    private fun run() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_URGENT_DISPLAY)
+        // Target the robot was stopped for by the dead man timeout, idle until replaced.
+        var stoppedFor: Target? = null
+        var next = System.nanoTime()
+        while (open) {
+            val target = latest
+            if (target == null || target === stoppedFor) {
+                LockSupport.park(this)
+                next = System.nanoTime()
+                continue
+            }
+            val wait = next - System.nanoTime()
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait)
+                continue
+            }
+            val start = System.nanoTime()
+            if (start - target.timeNanos > deadManNanos) {
+                // Counted apart, a stalled input would otherwise show as one huge jitter sample.
+                deadManCount.incrementAndGet()
+                robot.stopMovement()
+                stoppedFor = target
+                continue
+            }
+            jitter.record(-wait)
+            fresh.set(false)
+            robot.skidJoy(target.x, target.y, smart)
+            val end = System.nanoTime()
+            sendTime.record(end - start)
+            sentCount.incrementAndGet()
+            next += periodNanos
+            if (end >= next) {
+                val missed = (end - next) / periodNanos + 1
+                missedCount.addAndGet(missed)
+                next += missed * periodNanos
+            }
+        }
+        robot.stopMovement()
+    }
+
+    companion object {
+        const val DEFAULT_RATE_HZ = 30
+        const val MAX_RATE_HZ = 100
+        const val DEFAULT_DEAD_MAN_TIMEOUT_MS = 500L
+        private const val THREAD_NAME = "temi-sdk-joystick"
+    }
+}
@@ -0,0 +1,153 @@
+package com.robotemi.sdk.navigation
+
+import android.util.Log
+import androidx.annotation.FloatRange
+import com.robotemi.sdk.Robot
+import java.util.concurrent.LinkedBlockingDeque
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Movement commands sent to temi from a thread of the SDK, see [Robot.motion].
+ *
+ * Each method only queues its command and returns at once, and commands are sent in order.
+ * [stopMovement] is sent before any other queued command, which are discarded.
+ *
+ * A [skidJoy] replaces the one still waiting at the end of the queue, as it supersedes it,
+ * so a caller sending faster than temi answers gets its latest joystick position through.
+ * Other commands are never dropped: when [MAX_QUEUED] commands are waiting,
+ * a new one is rejected with [RejectedExecutionException].
+ */
+class MotionCommandChannel internal constructor(private val robot: Robot) {
+
+    /**
+     * @param continuous Whether a newer command of the same kind supersedes this one.
+     */
+    private class Command(val continuous: Boolean, val action: Runnable)
+
+    /**
+     * Changed holding its own lock, taken from by [drain] without it.
+     */
+    private val queue = LinkedBlockingDeque<Command>(MAX_QUEUED)
+
+    private val running = AtomicBoolean()
+
+    private val droppedCount = AtomicLong()
+
+    /**
+     * Number of [skidJoy] commands superseded before being sent, and of commands discarded by [stopMovement].
+     */
+    val dropped: Long
+        get() = droppedCount.get()
+
+    val pending: Int
+        get() = queue.size
+
+    /**
+     * See [Robot.skidJoy].
+     *
+     * @throws RejectedExecutionException if [MAX_QUEUED] other commands are waiting.
+     */
+    @JvmOverloads
+    fun skidJoy(
+        @FloatRange(from = -1.0, to = 1.0) x: Float,
+        @FloatRange(from = -1.0, to = 1.0) y: Float,
+        smart: Boolean = false
+    ) {
+        send(Command(true) { robot.skidJoy(x, y, smart) })
+    }
+
+    /**
+     * See [Robot.turnBy].
+     *
+     * @throws RejectedExecutionException if [MAX_QUEUED] commands are waiting.
+     */
+    @JvmOverloads
+    fun turnBy(degrees: Int, @FloatRange(from = 0.0, to = 1.0) speed: Float = 1f) {
+        send(Command(false) { robot.turnBy(degrees, speed) })
+    }
+
+    /**
+     * See [Robot.tiltAngle].
+     *
+     * @throws RejectedExecutionException if [MAX_QUEUED] commands are waiting.
+     */
+    @JvmOverloads
+    fun tiltAngle(degrees: Int, @FloatRange(from = 0.0, to = 1.0) speed: Float = 1f) {
+        send(Command(false) { robot.tiltAngle(degrees, speed) })
+    }
+
+    /**
+     * See [Robot.tiltBy].
+     *
+     * @throws RejectedExecutionException if [MAX_QUEUED] commands are waiting.
+     */
+    @JvmOverloads
+    fun tiltBy(degrees: Int, @FloatRange(from = 0.0, to = 1.0) speed: Float = 1f) {
+        send(Command(false) { robot.tiltBy(degrees, speed) })
+    }
+
+    /**
+     * Discard the queued commands and send a stop before any command queued afterwards.
+     */
+    fun stopMovement() {
+        val stop = Command(false) { robot.stopMovement() }
+        synchronized(queue) {
+            val discarded = ArrayList<Command>()
+            queue.drainTo(discarded)
+            droppedCount.addAndGet(discarded.size.toLong())
+            queue.offerFirst(stop)
+        }
+        start()
+    }
+
+    private fun send(command: Command) {
+        synchronized(queue) {
+            val last = queue.peekLast()
+            // Only the last one, or the new command would overtake the ones queued after it.
+            if (command.continuous && last != null && last.continuous && queue.removeLastOccurrence(last)) {
+                droppedCount.incrementAndGet()
+            }
+            if (!queue.offerLast(command)) {
+                throw RejectedExecutionException("$MAX_QUEUED motion commands waiting")
+            }
+        }
+        start()
+    }
+
+    private fun start() {
+        if (!running.compareAndSet(false, true)) return
+        Thread(::drain, THREAD_NAME).start()
+    }
+
+    /**
+     * Send commands until none came for [IDLE_TIMEOUT_SECONDS].
+     */
+    private fun drain() {
+        while (true) {
+            val command = try {
+                queue.poll(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            } catch (e: InterruptedException) {
+                Log.w(TAG, "Motion channel interrupted, ${queue.size} commands pending")
+                running.set(false)
+                return
+            }
+            if (command != null) {
+                command.action.run()
+                continue
+            }
+            running.set(false)
+            // A command may have come right after the poll timed out.
+            if (queue.isEmpty() || !running.compareAndSet(false, true)) return
+        }
+    }
+
+    companion object {
+        const val MAX_QUEUED = 64
+        private const val IDLE_TIMEOUT_SECONDS = 30L
+        private const val THREAD_NAME = "temi-sdk-motion"
+        private const val TAG = "MotionCommandChannel"
+    }
+}
@@ -0,0 +1,54 @@
+package com.robotemi.sdk.navigation
+
+import android.os.SystemClock
+import com.robotemi.sdk.dispatch.EventFilter
+import com.robotemi.sdk.navigation.model.Position
+import kotlin.math.PI
+import kotlin.math.abs
+import kotlin.math.hypot
+
+/**
+ * Accepts a position if at least [minIntervalMs] passed since the last accepted one,
+ * and the robot moved by [minDistance] or turned by [minYawDelta] since then.
+ * A threshold of 0 or less is not checked, so with both at 0 only the interval applies.
+ */
+internal class PositionFilter(
+    private val minIntervalMs: Long,
+    private val minDistance: Float,
+    private val minYawDelta: Float
+) : EventFilter {
+
+    private var last: Position? = null
+
+    private var lastTimeMs = 0L
+
+    @Synchronized
+    override fun accept(value: Any): Boolean {
+        val position = value as Position
+        val now = SystemClock.elapsedRealtime()
+        val previous = last
+        if (previous != null) {
+            if (now - lastTimeMs < minIntervalMs) return false
+            if (!moved(previous, position)) return false
+        }
+        last = position.copy()
+        lastTimeMs = now
+        return true
+    }
+
+    private fun moved(previous: Position, position: Position): Boolean {
+        if (minDistance <= 0 && minYawDelta <= 0) return true
+        if (minDistance > 0 &&
+            hypot(position.x - previous.x, position.y - previous.y) >= minDistance
+        ) {
+            return true
+        }
+        return minYawDelta > 0 && yawDelta(previous.yaw, position.yaw) >= minYawDelta
+    }
+
+    private fun yawDelta(from: Float, to: Float): Float {
+        var delta = abs(to - from) % (2 * PI).toFloat()
+        if (delta > PI) delta = (2 * PI).toFloat() - delta
+        return delta
+    }
+}
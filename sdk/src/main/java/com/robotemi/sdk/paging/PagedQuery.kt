@@ -0,0 +1,129 @@
+package com.robotemi.sdk.paging
+
+import android.content.ContentResolver
+import android.net.Uri
+import android.os.Parcel
+import android.os.Parcelable
+import android.util.Log
+import com.robotemi.sdk.constants.SdkConstants
+
+/**
+ * A list read from temi's content provider one page at a time, so neither side holds
+ * more than a page, and no single transaction carries the whole list.
+ *
+ * Each page is a query of `content://com.robotemi.sdk.provider/<path>?offset=&limit=`,
+ * answered with one row per item, holding the item written by [Parcelable.writeToParcel]
+ * in the [SdkConstants.PROVIDER_COLUMN_ITEM] column. The list ends at the size given by the
+ * [SdkConstants.PROVIDER_EXTRA_TOTAL_COUNT] extra of the cursor, or else at the first empty page,
+ * as the launcher may answer fewer items than asked for.
+ * Launchers without support for [path] answer no cursor, in which case [fallback] is used.
+ *
+ * @param transform Applied to the items of the pages, not to the ones of [fallback].
+ * @param fallback Whole list read otherwise, `null` if that failed.
+ */
+internal class PagedQuery<T : Parcelable>(
+    private val contentResolver: ContentResolver,
+    private val path: String,
+    private val type: Class<T>,
+    private val parameters: Map<String, String> = emptyMap(),
+    private val transform: (T) -> T = { it },
+    private val fallback: () -> List<T>?
+) {
+
+    @Suppress("UNCHECKED_CAST")
+    private val creator by lazy { type.getField("CREATOR").get(null) as Parcelable.Creator<T> }
+
+    private class Page<T>(val items: List<T>, val totalCount: Int)
+
+    /**
+     * @throws IllegalStateException While iterating, if a page after the first failed.
+     */
+    fun asSequence(pageSize: Int): Sequence<T> = sequence {
+        var offset = 0
+        while (true) {
+            val page = query(offset, pageSize)
+            if (page == null) {
+                if (offset == 0) {
+                    yieldAll(fallback() ?: emptyList())
+                    return@sequence
+                }
+                throw IllegalStateException("$path: page at $offset failed, list incomplete")
+            }
+            yieldAll(page.items)
+            offset += page.items.size
+            if (isLast(page, offset)) return@sequence
+        }
+    }
+
+    /**
+     * Read every page now, for callers which must not act on part of the list.
+     *
+     * @return `null` if a page or [fallback] failed.
+     */
+    fun readAll(pageSize: Int): List<T>? {
+        val items = ArrayList<T>()
+        while (true) {
+            val page = query(items.size, pageSize)
+            if (page == null) {
+                if (items.isEmpty()) return fallback()
+                Log.w(TAG, "$path: page at ${items.size} failed")
+                return null
+            }
+            items.addAll(page.items)
+            if (isLast(page, items.size)) return items
+        }
+    }
+
+    private fun isLast(page: Page<T>, end: Int): Boolean {
+        return page.items.isEmpty() || (page.totalCount >= 0 && end >= page.totalCount)
+    }
+
+    /**
+     * @return `null` if not supported by the launcher.
+     */
+    private fun query(offset: Int, limit: Int): Page<T>? {
+        val builder = Uri.Builder()
+            .scheme(ContentResolver.SCHEME_CONTENT)
+            .authority(SdkConstants.PROVIDER_AUTHORITY)
+            .appendPath(path)
+            .appendQueryParameter(SdkConstants.PROVIDER_PARAMETER_OFFSET, offset.toString())
+            .appendQueryParameter(SdkConstants.PROVIDER_PARAMETER_LIMIT, limit.toString())
+        for ((key, value) in parameters) {
+            builder.appendQueryParameter(key, value)
+        }
+        val cursor = try {
+            contentResolver.query(builder.build(), null, null, null, null)
+        } catch (e: IllegalArgumentException) {
+            Log.e(TAG, "$path: query error, ${e.message}")
+            null
+        } catch (e: SecurityException) {
+            Log.e(TAG, "$path: query error, ${e.message}")
+            null
+        } ?: return null
+        cursor.use {
+            val column = it.getColumnIndex(SdkConstants.PROVIDER_COLUMN_ITEM)
+            if (column < 0) return null
+            val items = ArrayList<T>(it.count)
+            while (it.moveToNext()) {
+                items.add(transform(unmarshall(it.getBlob(column))))
+            }
+            return Page(items, it.extras.getInt(SdkConstants.PROVIDER_EXTRA_TOTAL_COUNT, -1))
+        }
+    }
+
+    private fun unmarshall(bytes: ByteArray): T {
+        val parcel = Parcel.obtain()
+        try {
+            parcel.unmarshall(bytes, 0, bytes.size)
+            parcel.setDataPosition(0)
+            return creator.createFromParcel(parcel)
+        } finally {
+            parcel.recycle()
+        }
+    }
+
+    companion object {
+        const val DEFAULT_PAGE_SIZE = 100
+        private const val TAG = "PagedQuery"
+    }
+}
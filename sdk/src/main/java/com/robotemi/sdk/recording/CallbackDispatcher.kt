@@ -0,0 +1,20 @@
+package com.robotemi.sdk.recording
+
+import android.os.IBinder
+import android.os.Parcel
+import com.robotemi.sdk.ISdkServiceCallback
+
+/**
+ * Decodes callback transactions from temi the way the generated stub does,
+ * and calls the matching method of [target].
+ */
+internal class CallbackDispatcher(
+    target: ISdkServiceCallback
+) : ISdkServiceCallback.Stub(), ISdkServiceCallback by target {
+
+    override fun asBinder(): IBinder = this
+
+    fun dispatch(code: Int, data: Parcel, reply: Parcel?, flags: Int): Boolean {
+        return onTransact(code, data, reply, flags)
+    }
+}
@@ -0,0 +1,171 @@
+package com.robotemi.sdk.recording
+
+import android.graphics.Bitmap
+import com.google.gson.ExclusionStrategy
+import com.google.gson.FieldAttributes
+import com.google.gson.GsonBuilder
+import com.google.gson.JsonArray
+import com.google.gson.JsonElement
+import com.google.gson.JsonNull
+import com.google.gson.JsonParser
+import com.google.gson.JsonPrimitive
+import com.robotemi.sdk.ISdkServiceCallback
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.IOException
+import java.lang.reflect.Method
+import java.lang.reflect.Type
+
+/**
+ * Binary format of recorded callbacks:
+ * a header of [MAGIC] and [VERSION], then one record per callback, each made of the time
+ * in nanoseconds since the recording started, the name of the [ISdkServiceCallback] method,
+ * the length of its arguments and the arguments as a UTF-8 JSON array.
+ *
+ * Arguments are written as typed by the method, so a log is replayed on any device or JVM,
+ * except for bitmaps which are left out.
+ */
+internal object CallbackLog {
+
+    private const val MAGIC = 0x54534452 // "TSDR"
+
+    private const val VERSION = 3
+
+    /**
+     * Larger records are taken for corrupt rather than allocated.
+     */
+    private const val MAX_ARGUMENTS_BYTES = 16 * 1024 * 1024
+
+    class Record(val timeNanos: Long, val method: String, val arguments: ByteArray)
+
+    /**
+     * Callback methods by name, AIDL methods not being overloaded.
+     */
+    val methods: Map<String, Method> = ISdkServiceCallback::class.java.declaredMethods
+        .associateBy { it.name }
+
+    private val gson = GsonBuilder()
+        .setExclusionStrategies(object : ExclusionStrategy {
+            override fun shouldSkipField(f: FieldAttributes) = f.declaredClass == Bitmap::class.java
+
+            override fun shouldSkipClass(clazz: Class<*>) = false
+        })
+        .serializeSpecialFloatingPointValues()
+        .create()
+
+    /**
+     * Classes of the keys and values of untyped maps, by tag.
+     */
+    private val valueClasses = mapOf(
+        "s" to String::class.java,
+        "z" to Boolean::class.javaObjectType,
+        "i" to Int::class.javaObjectType,
+        "l" to Long::class.javaObjectType,
+        "f" to Float::class.javaObjectType,
+        "d" to Double::class.javaObjectType
+    )
+
+    private val valueTags = valueClasses.entries.associate { (tag, type) -> type to tag }
+
+    fun writeHeader(output: DataOutputStream) {
+        output.writeInt(MAGIC)
+        output.writeInt(VERSION)
+    }
+
+    fun writeRecord(output: DataOutputStream, timeNanos: Long, method: String, arguments: ByteArray) {
+        output.writeLong(timeNanos)
+        output.writeUTF(method)
+        output.writeInt(arguments.size)
+        output.write(arguments)
+    }
+
+    fun readHeader(input: DataInputStream) {
+        if (input.readInt() != MAGIC) throw IOException("Not a callback recording")
+        val version = input.readInt()
+        if (version != VERSION) throw IOException("Unsupported callback recording version $version")
+    }
+
+    /**
+     * @return null at the end of the log, including after a record truncated by a crash.
+     * @throws IOException If the record is corrupt.
+     */
+    fun readRecord(input: DataInputStream): Record? {
+        return try {
+            val timeNanos = input.readLong()
+            val method = input.readUTF()
+            val size = input.readInt()
+            if (size < 0 || size > MAX_ARGUMENTS_BYTES) {
+                throw IOException("Corrupt callback record of $size bytes")
+            }
+            val arguments = ByteArray(size)
+            input.readFully(arguments)
+            Record(timeNanos, method, arguments)
+        } catch (e: EOFException) {
+            null
+        }
+    }
+
+    fun encodeArguments(method: Method, args: Array<out Any?>?): ByteArray {
+        val array = JsonArray()
+        val types = method.genericParameterTypes
+        for (i in types.indices) {
+            array.add(encode(types[i], args?.get(i)))
+        }
+        return array.toString().toByteArray(Charsets.UTF_8)
+    }
+
+    fun decodeArguments(method: Method, bytes: ByteArray): Array<Any?> {
+        val array = JsonParser.parseString(String(bytes, Charsets.UTF_8)).asJsonArray
+        val types = method.genericParameterTypes
+        if (array.size() != types.size) {
+            throw IllegalArgumentException("${method.name} takes ${types.size} arguments, not ${array.size()}")
+        }
+        return Array(types.size) { decode(types[it], array[it]) }
+    }
+
+    /**
+     * Untyped maps, like the one of [ISdkServiceCallback.onDistanceToLocationChanged],
+     * are written as pairs of tagged keys and values, so they are read back with the same classes.
+     */
+    private fun encode(type: Type, value: Any?): JsonElement {
+        if (value == null) return JsonNull.INSTANCE
+        if (type != Map::class.java) return gson.toJsonTree(value, type)
+        val pairs = JsonArray()
+        for ((key, item) in value as Map<*, *>) {
+            pairs.add(JsonArray().apply {
+                add(tagged(key))
+                add(tagged(item))
+            })
+        }
+        return pairs
+    }
+
+    private fun decode(type: Type, json: JsonElement): Any? {
+        if (json.isJsonNull) return null
+        if (type != Map::class.java) return gson.fromJson(json, type)
+        val map = HashMap<Any?, Any?>()
+        for (pair in json.asJsonArray) {
+            val entry = pair.asJsonArray
+            map[untagged(entry[0])] = untagged(entry[1])
+        }
+        return map
+    }
+
+    private fun tagged(value: Any?): JsonElement {
+        if (value == null) return JsonNull.INSTANCE
+        val tag = valueTags[value.javaClass]
+            ?: throw IllegalArgumentException("Unsupported map value ${value.javaClass.name}")
+        return JsonArray().apply {
+            add(JsonPrimitive(tag))
+            add(gson.toJsonTree(value))
+        }
+    }
+
+    private fun untagged(json: JsonElement): Any? {
+        if (json.isJsonNull) return null
+        val tag = json.asJsonArray[0].asString
+        val type = valueClasses[tag] ?: throw IllegalArgumentException("Unknown map value tag $tag")
+        return gson.fromJson(json.asJsonArray[1], type)
+    }
+}
@@ -0,0 +1,86 @@
+package com.robotemi.sdk.recording
+
+import android.os.Parcel
+import android.os.SystemClock
+import android.util.Log
+import com.robotemi.sdk.ISdkServiceCallback
+import java.io.BufferedOutputStream
+import java.io.Closeable
+import java.io.DataOutputStream
+import java.io.File
+import java.io.FileOutputStream
+import java.io.IOException
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+
+/**
+ * Writes the callbacks received from temi to [file], see [CallbackLog],
+ * before handing them to [target].
+ */
+internal class CallbackRecorder(file: File, private val target: ISdkServiceCallback) : Closeable {
+
+    private val output = DataOutputStream(BufferedOutputStream(FileOutputStream(file)))
+
+    private val startNanos = SystemClock.elapsedRealtimeNanos()
+
+    private var closed = false
+
+    private val dispatcher = CallbackDispatcher(
+        Proxy.newProxyInstance(
+            ISdkServiceCallback::class.java.classLoader,
+            arrayOf(ISdkServiceCallback::class.java)
+        ) { _, method, args ->
+            if (method.declaringClass == ISdkServiceCallback::class.java) record(method, args)
+            try {
+                method.invoke(target, *(args ?: emptyArray()))
+            } catch (e: InvocationTargetException) {
+                throw e.cause ?: e
+            }
+        } as ISdkServiceCallback
+    )
+
+    init {
+        CallbackLog.writeHeader(output)
+    }
+
+    /**
+     * Called on the binder thread with a transaction from temi, handled once recorded.
+     */
+    fun dispatch(code: Int, data: Parcel, reply: Parcel?, flags: Int): Boolean {
+        return dispatcher.dispatch(code, data, reply, flags)
+    }
+
+    @Synchronized
+    private fun record(method: Method, args: Array<out Any?>?) {
+        if (closed) return
+        val arguments = try {
+            CallbackLog.encodeArguments(method, args)
+        } catch (e: RuntimeException) {
+            Log.e(TAG, "Recording ${method.name} failed", e)
+            return
+        }
+        try {
+            CallbackLog.writeRecord(
+                output, SystemClock.elapsedRealtimeNanos() - startNanos, method.name, arguments
+            )
+        } catch (e: IOException) {
+            Log.e(TAG, "Recording callback failed", e)
+        }
+    }
+
+    @Synchronized
+    override fun close() {
+        if (closed) return
+        closed = true
+        try {
+            output.close()
+        } catch (e: IOException) {
+            Log.e(TAG, "Closing callback recording failed", e)
+        }
+    }
+
+    private companion object {
+        const val TAG = "CallbackRecorder"
+    }
+}
@@ -0,0 +1,91 @@
+package com.robotemi.sdk.recording
+
+import android.util.Log
+import com.robotemi.sdk.ISdkServiceCallback
+import java.io.BufferedInputStream
+import java.io.Closeable
+import java.io.DataInputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.IOException
+import java.lang.reflect.InvocationTargetException
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
+
+/**
+ * Feeds a recording made with [com.robotemi.sdk.Robot.startCallbackRecording] back to the SDK,
+ * as if the callbacks came from temi, on a thread of its own.
+ *
+ * Recordings replay on any device, or in a JVM test. A record failing to replay is logged and skipped,
+ * and a corrupt recording ends the replay.
+ *
+ * Close it to stop the replay.
+ */
+class CallbackReplayer internal constructor(
+    file: File,
+    private val speed: Float,
+    private val target: ISdkServiceCallback
+) : Closeable {
+
+    @Volatile
+    private var closed = false
+
+    @Volatile
+    var replayedCount = 0L
+        private set
+
+    private val worker = thread(name = "temi-sdk-replay") {
+        try {
+            DataInputStream(BufferedInputStream(FileInputStream(file))).use { replay(it) }
+        } catch (e: IOException) {
+            Log.e(TAG, "Replaying ${file.path} failed", e)
+        } catch (e: RuntimeException) {
+            Log.e(TAG, "Replaying ${file.path} failed", e)
+        } catch (e: InterruptedException) {
+            // Closed.
+        }
+    }
+
+    private fun replay(input: DataInputStream) {
+        CallbackLog.readHeader(input)
+        val startNanos = System.nanoTime()
+        while (!closed) {
+            val record = CallbackLog.readRecord(input) ?: return
+            if (speed > 0 && speed.isFinite()) {
+                val dueNanos = startNanos + (record.timeNanos / speed).toLong()
+                val waitNanos = dueNanos - System.nanoTime()
+                if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos)
+            }
+            val method = CallbackLog.methods[record.method]
+            if (method == null) {
+                Log.e(TAG, "Unknown callback ${record.method} skipped")
+                continue
+            }
+            try {
+                method.invoke(target, *CallbackLog.decodeArguments(method, record.arguments))
+                replayedCount++
+            } catch (e: InvocationTargetException) {
+                Log.e(TAG, "Replaying callback ${record.method} failed", e.cause)
+            } catch (e: RuntimeException) {
+                Log.e(TAG, "Replaying callback ${record.method} failed", e)
+            }
+        }
+    }
+
+    /**
+     * Wait until the whole recording was replayed or the replay was closed.
+     */
+    @Throws(InterruptedException::class)
+    fun join() {
+        worker.join()
+    }
+
+    override fun close() {
+        closed = true
+        worker.interrupt()
+    }
+
+    private companion object {
+        const val TAG = "CallbackReplayer"
+    }
+}
@@ -0,0 +1,56 @@
+package com.robotemi.sdk.state
+
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Properties of the robot which do not change while connected to temi,
+ * read once from temi and kept until [invalidateAll] is called on the next connection.
+ */
+internal class ConnectionCache {
+
+    private class Holder<T : Any>(val value: T?)
+
+    inner class Property<T : Any> {
+
+        private val holder = AtomicReference(Holder<T>(null))
+
+        fun invalidate() {
+            holder.set(Holder(null))
+        }
+
+        /**
+         * @param load Remote read, `null` if it failed, in which case it is tried again next time.
+         */
+        fun get(load: () -> T?): T? {
+            val current = holder.get()
+            current.value?.let { return it }
+            val loaded = load() ?: return null
+            // Drop the value if the connection changed during the read.
+            holder.compareAndSet(current, Holder(loaded))
+            return loaded
+        }
+    }
+
+    val serialNumber = Property<String>()
+
+    val launcherVersion = Property<String>()
+
+    val roboxVersion = Property<String>()
+
+    val nickName = Property<String>()
+
+    val wakeupWord = Property<String>()
+
+    val hasCliffSensor = Property<Boolean>()
+
+    val supportedLatinKeyboards = Property<Map<String, Boolean>>()
+
+    private val properties = listOf(
+        serialNumber, launcherVersion, roboxVersion, nickName, wakeupWord,
+        hasCliffSensor, supportedLatinKeyboards
+    )
+
+    fun invalidateAll() {
+        properties.forEach { it.invalidate() }
+    }
+}
@@ -0,0 +1,87 @@
+package com.robotemi.sdk.state
+
+import android.os.SystemClock
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.FutureTask
+
+/**
+ * Shares one remote read between the threads asking for the same key at the same time.
+ *
+ * The first caller does the read, the others wait for its result. With [ttlMillis] above 0,
+ * a successful result is also returned to callers coming up to that long after it.
+ */
+internal class SingleFlight {
+
+    private class Flight<T : Any>(load: () -> T?) : FutureTask<T?>(Callable { load() }) {
+
+        @Volatile
+        var doneAtMillis = 0L
+
+        override fun done() {
+            doneAtMillis = SystemClock.elapsedRealtime()
+        }
+
+        /**
+         * Whether done with a result, not `null` nor an exception.
+         */
+        fun succeeded(): Boolean {
+            return try {
+                isDone && get() != null
+            } catch (e: ExecutionException) {
+                false
+            }
+        }
+
+        fun result(): T? {
+            return try {
+                get()
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
+        }
+    }
+
+    private val flights = ConcurrentHashMap<Any, Flight<*>>()
+
+    @Volatile
+    var ttlMillis = 0L
+
+    /**
+     * @param key Identifies the read, with its arguments if any.
+     * @param load Remote read, `null` if it failed, in which case the result is not kept.
+     */
+    fun <T : Any> run(key: Any, load: () -> T?): T? {
+        while (true) {
+            @Suppress("UNCHECKED_CAST")
+            val existing = flights[key] as Flight<T>?
+            if (existing != null) {
+                if (!existing.isDone || isFresh(existing)) return existing.result()
+                flights.remove(key, existing)
+                continue
+            }
+            val flight = Flight(load)
+            if (flights.putIfAbsent(key, flight) != null) continue
+            flight.run()
+            if (ttlMillis <= 0 || !flight.succeeded()) flights.remove(key, flight)
+            return flight.result()
+        }
+    }
+
+    private fun isFresh(flight: Flight<*>): Boolean {
+        return flight.succeeded() &&
+                SystemClock.elapsedRealtime() - flight.doneAtMillis <= ttlMillis
+    }
+
+    /**
+     * Make the next [run] for [key] read again.
+     */
+    fun forget(key: Any) {
+        flights.remove(key)
+    }
+
+    fun forgetAll() {
+        flights.clear()
+    }
+}
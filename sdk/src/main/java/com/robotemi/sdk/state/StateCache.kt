@@ -0,0 +1,73 @@
+package com.robotemi.sdk.state
+
+import android.os.SystemClock
+import com.robotemi.sdk.BatteryData
+import com.robotemi.sdk.map.Floor
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Last known state of the robot, fed by the callbacks and by remote reads.
+ * Only values pushed by a callback are cached, so a change on temi's side reaches the cache.
+ *
+ * A value is fresh for [maxAgeMillis] after it was received. Getters answer fresh values
+ * locally and go to temi otherwise, while [Slot.last] returns a value of any age
+ * for delivering it to newly added listeners.
+ */
+internal class StateCache {
+
+    private class Entry<T : Any>(val value: T?, val timeMillis: Long)
+
+    inner class Slot<T : Any> {
+
+        private val entry = AtomicReference(Entry<T>(null, 0))
+
+        fun update(value: T) {
+            entry.set(Entry(value, SystemClock.elapsedRealtime()))
+        }
+
+        /**
+         * Force the next [get] to read from temi, and drop the result of a read in progress.
+         */
+        fun invalidate() {
+            entry.set(Entry(null, 0))
+        }
+
+        fun last(): T? = entry.get().value
+
+        /**
+         * @param load Remote read, called when there is no fresh value.
+         */
+        fun get(load: () -> T?): T? {
+            val current = entry.get()
+            val value = current.value
+            if (value != null && SystemClock.elapsedRealtime() - current.timeMillis <= maxAgeMillis) {
+                return value
+            }
+            val loaded = load() ?: return null
+            // Keep a value pushed or an invalidation done during the read.
+            entry.compareAndSet(current, Entry(loaded, SystemClock.elapsedRealtime()))
+            return loaded
+        }
+    }
+
+    @Volatile
+    var maxAgeMillis = DEFAULT_MAX_AGE_MILLIS
+
+    val battery = Slot<BatteryData>()
+
+    val privacyMode = Slot<Boolean>()
+
+    val detectionState = Slot<Int>()
+
+    val currentFloor = Slot<Floor>()
+
+    private val slots = listOf(battery, privacyMode, detectionState, currentFloor)
+
+    fun invalidateAll() {
+        slots.forEach { it.invalidate() }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_AGE_MILLIS = 2_000L
+    }
+}
@@ -0,0 +1,238 @@
+package com.robotemi.sdk.telepresence
+
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import androidx.annotation.WorkerThread
+import com.robotemi.sdk.Robot
+import com.robotemi.sdk.UserInfo
+import com.robotemi.sdk.listeners.OnRobotReadyListener
+import com.robotemi.sdk.listeners.OnTelepresenceStatusChangedListener
+import com.robotemi.sdk.listeners.OnUsersUpdatedListener
+import com.robotemi.sdk.model.MemberStatusModel
+import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentSkipListMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ThreadFactory
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Local copy of temi's contacts and of the members status, see [Robot.contactStore].
+ *
+ * Once [start]ed, contacts are updated one by one from [OnUsersUpdatedListener] callbacks,
+ * and the members status is read again when a telepresence status changes.
+ * The whole store is only compared with temi's lists when connecting or reconnecting to temi,
+ * temi having no way to tell what changed since, and listeners are told only about the entries
+ * which changed.
+ * Lookups by user id and by name prefix are answered locally.
+ */
+class ContactStore internal constructor(private val robot: Robot) {
+
+    interface Listener {
+
+        /**
+         * @param updated Contacts added or changed.
+         * @param removedIds Ids of the contacts removed.
+         */
+        fun onContactsChanged(updated: List<UserInfo>, removedIds: List<String>)
+
+        /**
+         * @param updated Status added or changed, by [MemberStatusModel.memberId].
+         */
+        fun onMembersStatusChanged(updated: List<MemberStatusModel>)
+    }
+
+    private class Registration(val listener: Listener, val executor: Executor)
+
+    private val contacts = ConcurrentHashMap<String, UserInfo>()
+
+    /**
+     * Contacts by [nameKey], sorted for prefix lookups.
+     */
+    private val byName = ConcurrentSkipListMap<String, UserInfo>()
+
+    private val statuses = ConcurrentHashMap<String, MemberStatusModel>()
+
+    private val listeners = CopyOnWriteArrayList<Registration>()
+
+    private val mainExecutor = Handler(Looper.getMainLooper()).let { handler ->
+        Executor { handler.post(it) }
+    }
+
+    private val userUpdatedListener = object : OnUsersUpdatedListener(null) {
+        override fun onUserUpdated(user: UserInfo) {
+            val changed = synchronized(this@ContactStore) { put(user) }
+            if (changed) notifyContacts(listOf(user), emptyList())
+        }
+    }
+
+    private val robotReadyListener = object : OnRobotReadyListener {
+        override fun onRobotReady(isReady: Boolean) {
+            if (isReady) sync()
+        }
+    }
+
+    private val telepresenceListener = object : OnTelepresenceStatusChangedListener("") {
+        override fun onTelepresenceStatusChanged(callState: CallState) {
+            requestStatusRefresh()
+        }
+    }
+
+    private val statusRefreshPending = AtomicBoolean()
+
+    /**
+     * Thread reading temi's lists, off the binder and main threads.
+     */
+    private val executor = ThreadPoolExecutor(
+        1, 1, IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS, LinkedBlockingQueue(),
+        ThreadFactory { Thread(it, THREAD_NAME).apply { isDaemon = true } }
+    ).apply { allowCoreThreadTimeOut(true) }
+
+    val contactCount: Int
+        get() = contacts.size
+
+    fun getContact(userId: String): UserInfo? = contacts[userId]
+
+    fun getMemberStatus(memberId: String): MemberStatusModel? = statuses[memberId]
+
+    fun getContacts(): List<UserInfo> = ArrayList(contacts.values)
+
+    /**
+     * Contacts whose name starts with [prefix], ignoring case, sorted by name.
+     */
+    fun findByNamePrefix(prefix: String): List<UserInfo> {
+        val from = prefix.lowercase(Locale.ROOT)
+        return ArrayList(byName.subMap(from, true, from + Char.MAX_VALUE, true).values)
+    }
+
+    /**
+     * @param executor Executor of [listener], the main thread if `null`.
+     */
+    @JvmOverloads
+    fun addListener(listener: Listener, executor: Executor? = null) {
+        listeners.add(Registration(listener, executor ?: mainExecutor))
+    }
+
+    fun removeListener(listener: Listener) {
+        listeners.removeAll { it.listener == listener }
+    }
+
+    /**
+     * Start following temi's updates, and comparing with temi's lists now if connected,
+     * then each time the connection to temi is made again.
+     */
+    @Synchronized
+    fun start() {
+        stop()
+        robot.addOnUsersUpdatedListener(userUpdatedListener, Robot.DIRECT_EXECUTOR)
+        robot.addOnTelepresenceStatusChangedListener(telepresenceListener, Robot.DIRECT_EXECUTOR)
+        robot.addOnRobotReadyListener(robotReadyListener, executor)
+    }
+
+    @Synchronized
+    fun stop() {
+        robot.removeOnUsersUpdatedListener(userUpdatedListener)
+        robot.removeOnTelepresenceStatusChangedListener(telepresenceListener)
+        robot.removeOnRobotReadyListener(robotReadyListener)
+    }
+
+    /**
+     * Read the members status again, once for all the changes coming while it is pending.
+     */
+    private fun requestStatusRefresh() {
+        if (!statusRefreshPending.compareAndSet(false, true)) return
+        executor.execute {
+            statusRefreshPending.set(false)
+            if (!robot.isReady) return@execute
+            val remoteStatuses = robot.membersStatus
+            if (robot.isReady) reconcileStatuses(remoteStatuses)
+        }
+    }
+
+    /**
+     * Compare the store with temi's lists now, on the calling thread.
+     * Costs a read of all the contacts, which [start] only does when connecting to temi.
+     * Does nothing if not connected to temi, and contacts are left as they are unless
+     * the whole list was read, so the store is not emptied by a failed read.
+     */
+    @WorkerThread
+    fun sync() {
+        if (!robot.isReady) return
+        val remoteContacts = robot.readAllContacts()
+        val remoteStatuses = robot.membersStatus
+        if (!robot.isReady) return
+        if (remoteContacts != null) {
+            reconcileContacts(remoteContacts)
+        } else {
+            Log.w(TAG, "Contacts not read, kept as they are")
+        }
+        reconcileStatuses(remoteStatuses)
+    }
+
+    private fun reconcileContacts(remote: List<UserInfo>) {
+        val updated = ArrayList<UserInfo>()
+        val removed = ArrayList<String>()
+        synchronized(this) {
+            val ids = HashSet<String>(remote.size)
+            for (user in remote) {
+                ids.add(user.userId)
+                if (put(user)) updated.add(user)
+            }
+            for (id in contacts.keys) {
+                if (id in ids) continue
+                contacts.remove(id)?.let { byName.remove(nameKey(it)) }
+                removed.add(id)
+            }
+        }
+        if (updated.isNotEmpty() || removed.isNotEmpty()) notifyContacts(updated, removed)
+    }
+
+    private fun reconcileStatuses(remote: List<MemberStatusModel>) {
+        val updated = ArrayList<MemberStatusModel>()
+        for (status in remote) {
+            if (statuses.put(status.memberId, status) != status) updated.add(status)
+        }
+        if (updated.isEmpty()) return
+        for (registration in listeners) {
+            registration.executor.execute { registration.listener.onMembersStatusChanged(updated) }
+        }
+    }
+
+    /**
+     * Call holding the lock of this store.
+     *
+     * @return `true` if [user] is new or changed.
+     */
+    private fun put(user: UserInfo): Boolean {
+        val previous = contacts.put(user.userId, user)
+        if (previous == user) return false
+        if (previous != null) byName.remove(nameKey(previous))
+        byName[nameKey(user)] = user
+        return true
+    }
+
+    private fun notifyContacts(updated: List<UserInfo>, removedIds: List<String>) {
+        Log.d(TAG, "${updated.size} contacts updated, ${removedIds.size} removed")
+        for (registration in listeners) {
+            registration.executor.execute {
+                registration.listener.onContactsChanged(updated, removedIds)
+            }
+        }
+    }
+
+    /**
+     * Lower case name then user id, so contacts of the same name are all kept.
+     */
+    private fun nameKey(user: UserInfo) = "${user.name.lowercase(Locale.ROOT)}\u0000${user.userId}"
+
+    companion object {
+        private const val IDLE_TIMEOUT_SECONDS = 30L
+        private const val THREAD_NAME = "temi-sdk-contact-sync"
+        private const val TAG = "ContactStore"
+    }
+}
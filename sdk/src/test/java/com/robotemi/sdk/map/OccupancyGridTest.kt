@@ -0,0 +1,27 @@
+package com.robotemi.sdk.map
+
+import com.google.gson.Gson
+import org.junit.Test
+
+internal class OccupancyGridTest {
+
+    @Test
+    fun parseMapImage() {
+        val json = """{"type_id":"map","rows":2,"cols":3,"dt":"i","data":[-1,0,100,50,0,-1]}"""
+        val image = Gson().fromJson(json, MapImage::class.java)
+        assert(image.data is OccupancyGrid)
+        assert(image.data == listOf(-1, 0, 100, 50, 0, -1))
+        assert(image.grid.getInt(2) == 100)
+        assert(Gson().toJson(image) == json)
+    }
+
+    @Test
+    fun valuesBeyondByte() {
+        val values = (0 until 3000).map { it - 1000 }
+        val grid = OccupancyGrid.of(values)
+        assert(grid == values)
+        assert(values == grid)
+        assert(grid.hashCode() == values.hashCode())
+        assert(grid.toIntArray().toList() == values)
+    }
+}
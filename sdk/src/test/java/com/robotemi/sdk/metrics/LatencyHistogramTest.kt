@@ -0,0 +1,33 @@
+package com.robotemi.sdk.metrics
+
+import org.junit.Test
+
+internal class LatencyHistogramTest {
+
+    @Test
+    fun percentilesWithinBucket() {
+        val histogram = LatencyHistogram()
+        for (nanos in 1L..100L) {
+            histogram.record(nanos)
+        }
+        val stats = histogram.snapshot()
+        println(stats)
+        assert(stats.count == 100L)
+        assert(stats.maxNanos == 100L)
+        assert(stats.meanNanos == 50L)
+        assert(stats.p50Nanos in 50L..63L)
+        assert(stats.p99Nanos == 100L)
+    }
+
+    @Test
+    fun reset() {
+        val histogram = LatencyHistogram()
+        histogram.record(0)
+        histogram.record(-1)
+        assert(histogram.snapshot().count == 2L)
+        histogram.reset()
+        val stats = histogram.snapshot()
+        assert(stats.count == 0L)
+        assert(stats.p90Nanos == 0L)
+    }
+}